@@ -4,6 +4,7 @@ plugins {
     `maven-publish`
     id("com.github.johnrengelman.shadow").version("7.1.0")
     id("io.papermc.paperweight.userdev").version("1.1.12")
+    id("me.champeau.jmh").version("0.6.6")
 }
 
 group = "me.moros"
@@ -42,6 +43,12 @@ dependencies {
     compileOnly("com.griefcraft.lwc", "LWCX", "2.2.6")
 }
 
+jmh {
+    jmhVersion.set("1.33")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
 tasks {
     shadowJar {
         archiveClassifier.set("")
@@ -0,0 +1,125 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.config;
+
+import java.lang.reflect.Field;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.atlas.configurate.CommentedConfigurationNode;
+import me.moros.bending.model.attribute.Attribute;
+import me.moros.bending.model.attribute.Modifiable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sun.misc.Unsafe;
+
+/**
+ * Attribute recalculation of a config, the part of {@link ConfigManager#calculate} that runs once the modifiers of a user
+ * have been aggregated: the {@link ModifierPlan} lookup, the clone and applying every operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributeRecalculationBenchmark {
+  private Configurable config;
+  private Map<Attribute, double[]> operations;
+
+  @Setup
+  public void setup() {
+    config = SyntheticConfig.create();
+    operations = new EnumMap<>(Attribute.class);
+    operations.put(Attribute.COOLDOWN, new double[]{0, 0.75, 1});
+    operations.put(Attribute.RANGE, new double[]{2, 1, 1.25});
+    operations.put(Attribute.DAMAGE, new double[]{0, 1.5, 0.9});
+    operations.put(Attribute.AMOUNT, new double[]{1, 1, 1});
+  }
+
+  @Benchmark
+  public boolean planLookup() {
+    return ModifierPlan.of(config.getClass()).isEmpty();
+  }
+
+  @Benchmark
+  public Configurable recalculate() throws CloneNotSupportedException {
+    ModifierPlan plan = ModifierPlan.of(config.getClass());
+    Configurable newConfig = (Configurable) config.clone();
+    operations.forEach((attribute, op) -> plan.apply(newConfig, attribute, op));
+    return newConfig;
+  }
+
+  // Mirrors the ability configs, with more than one field for an attribute and every supported field type
+  private static final class SyntheticConfig extends Configurable {
+    @Modifiable(Attribute.COOLDOWN)
+    public long cooldown;
+    @Modifiable(Attribute.COOLDOWN)
+    public long chargeCooldown;
+    @Modifiable(Attribute.RANGE)
+    public double range;
+    @Modifiable(Attribute.RANGE)
+    public double selectRange;
+    @Modifiable(Attribute.SPEED)
+    public double speed;
+    @Modifiable(Attribute.DAMAGE)
+    public double damage;
+    @Modifiable(Attribute.AMOUNT)
+    public int amount;
+    public boolean sneakOnly;
+
+    // Allocated without running the Configurable constructor, which registers with the plugin's config manager
+    private static SyntheticConfig create() {
+      try {
+        Field field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        SyntheticConfig instance = (SyntheticConfig) ((Unsafe) field.get(null)).allocateInstance(SyntheticConfig.class);
+        instance.config = CommentedConfigurationNode.root();
+        instance.onConfigReload();
+        return instance;
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public void onConfigReload() {
+      CommentedConfigurationNode abilityNode = config.node("abilities", "benchmark", "synthetic");
+
+      cooldown = abilityNode.node("cooldown").getLong(5000);
+      chargeCooldown = abilityNode.node("charge-cooldown").getLong(8000);
+      range = abilityNode.node("range").getDouble(20.0);
+      selectRange = abilityNode.node("select-range").getDouble(8.0);
+      speed = abilityNode.node("speed").getDouble(1.2);
+      damage = abilityNode.node("damage").getDouble(3.0);
+      amount = abilityNode.node("amount").getInt(3);
+      sneakOnly = abilityNode.node("sneak-only").getBoolean(false);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import me.moros.bending.model.AbilityManager;
+import me.moros.bending.model.Element;
+import me.moros.bending.model.ability.Ability;
+import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.description.AbilityDescription;
+import me.moros.bending.model.collision.Collider;
+import me.moros.bending.model.collision.CollisionFixtures;
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.collision.geometry.Sphere;
+import me.moros.bending.model.math.Vector3d;
+import me.moros.bending.model.user.User;
+import me.moros.bending.registry.CollisionRegistry;
+import me.moros.bending.registry.RegistryFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link CollisionManager#update()} for many synthetic ability instances that all share a single collision layer.
+ * Instances are never destroyed so every invocation performs the same amount of work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionTickBenchmark {
+  private static final List<AbilityDescription> DESCRIPTIONS = createDescriptions(4);
+  private static final CollisionRegistry COLLISIONS = RegistryFixtures.collisions(CollisionFixtures.layer(DESCRIPTIONS));
+
+  @Param({"100", "500", "2000"})
+  public int instances;
+
+  @Param({"64", "256"})
+  public int area;
+
+  private CollisionManager collisionManager;
+
+  @Setup
+  public void setup() {
+    SplittableRandom random = new SplittableRandom(42);
+    List<SyntheticAbility> abilities = new ArrayList<>(instances);
+    for (int i = 0; i < instances; i++) {
+      int amount = random.nextInt(1, 8);
+      Collection<Collider> colliders = new ArrayList<>(amount);
+      Vector3d origin = new Vector3d(random.nextDouble(area), random.nextDouble(0, 32), random.nextDouble(area));
+      for (int j = 0; j < amount; j++) {
+        Vector3d center = origin.add(new Vector3d(j, 0, 0));
+        colliders.add(random.nextBoolean() ? new Sphere(center, 1) : AABB.EXPANDED_BLOCK_BOUNDS.at(center));
+      }
+      abilities.add(new SyntheticAbility(DESCRIPTIONS.get(i % DESCRIPTIONS.size()), syntheticUser(), List.copyOf(colliders)));
+    }
+    collisionManager = new CollisionManager(new SyntheticManager(abilities), COLLISIONS);
+  }
+
+  @Benchmark
+  public void tick() {
+    collisionManager.update();
+  }
+
+  // Descriptions and collisions stay local to the benchmark, nothing is added to the global registries
+  private static List<AbilityDescription> createDescriptions(int amount) {
+    return IntStream.range(0, amount)
+      .mapToObj(i -> AbilityDescription.builder("BenchmarkAbility" + i, SyntheticAbility::new)
+        .element(Element.AIR).activation(Activation.ATTACK).build())
+      .collect(Collectors.toList());
+  }
+
+  // Only identity matters to the collision manager which skips pairs that share a user
+  private static User syntheticUser() {
+    return (User) Proxy.newProxyInstance(User.class.getClassLoader(), new Class<?>[]{User.class}, (proxy, method, args) -> switch (method.getName()) {
+      case "equals" -> proxy == args[0];
+      case "hashCode" -> System.identityHashCode(proxy);
+      default -> throw new UnsupportedOperationException(method.getName());
+    });
+  }
+
+  private static final class SyntheticManager implements AbilityManager {
+    private final List<SyntheticAbility> abilities;
+
+    private SyntheticManager(List<SyntheticAbility> abilities) {
+      this.abilities = abilities;
+    }
+
+    @Override
+    public int size() {
+      return abilities.size();
+    }
+
+    @Override
+    public Stream<Ability> instances(AbilityDescription desc) {
+      return abilities.stream().filter(a -> a.description().equals(desc)).map(Ability.class::cast);
+    }
+  }
+
+  private static final class SyntheticAbility implements Ability {
+    private final AbilityDescription description;
+    private final User user;
+    private final Collection<Collider> colliders;
+
+    private SyntheticAbility(AbilityDescription description) {
+      this(description, null, List.of());
+    }
+
+    private SyntheticAbility(AbilityDescription description, User user, Collection<Collider> colliders) {
+      this.description = description;
+      this.user = user;
+      this.colliders = colliders;
+    }
+
+    @Override
+    public boolean activate(User user, Activation method) {
+      return false;
+    }
+
+    @Override
+    public void loadConfig() {
+    }
+
+    @Override
+    public AbilityDescription description() {
+      return description;
+    }
+
+    @Override
+    public User user() {
+      return user;
+    }
+
+    @Override
+    public Collection<Collider> colliders() {
+      return colliders;
+    }
+
+    @Override
+    public UpdateResult update() {
+      return UpdateResult.CONTINUE;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.collision;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import me.moros.bending.model.ability.description.AbilityDescription;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Builds collisions for benchmarks without resolving ability names through the global ability registry.
+ */
+public final class CollisionFixtures {
+  private CollisionFixtures() {
+  }
+
+  /**
+   * @param abilities the abilities of the layer
+   * @return the same collisions as a {@link CollisionBuilder#layer(Collection)} of the given abilities
+   */
+  public static @NonNull Collection<@NonNull RegisteredCollision> layer(@NonNull List<@NonNull AbilityDescription> abilities) {
+    Collection<RegisteredCollision> collisions = new ArrayList<>();
+    int size = abilities.size();
+    for (int i = 0; i < size; i++) {
+      for (int j = i; j < size; j++) {
+        collisions.add(new RegisteredCollision(abilities.get(i), abilities.get(j), true, true));
+      }
+    }
+    return collisions;
+  }
+}
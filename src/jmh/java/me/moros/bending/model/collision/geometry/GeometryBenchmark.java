@@ -0,0 +1,130 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.collision.geometry;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.model.collision.Collider;
+import me.moros.bending.model.math.Vector3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Intersection tests between every pair of collider types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryBenchmark {
+  @Param({"aabb", "obb", "sphere", "disk"})
+  public String first;
+
+  @Param({"aabb", "obb", "sphere", "disk"})
+  public String second;
+
+  private Collider[] firstColliders;
+  private Collider[] secondColliders;
+  private ColliderBatch firstBatch;
+  private ColliderBatch secondBatch;
+  private Ray[] rays;
+
+  @Setup
+  public void setup() {
+    SplittableRandom random = new SplittableRandom(42);
+    firstColliders = new Collider[256];
+    secondColliders = new Collider[256];
+    rays = new Ray[256];
+    for (int i = 0; i < 256; i++) {
+      firstColliders[i] = create(first, random);
+      secondColliders[i] = create(second, random);
+      rays[i] = new Ray(position(random), new Vector3d(random.nextDouble(-1, 1), random.nextDouble(-1, 1), random.nextDouble(-1, 1)).normalize().multiply(16));
+    }
+    firstBatch = ColliderBatch.of(List.of(firstColliders));
+    secondBatch = ColliderBatch.of(List.of(secondColliders));
+  }
+
+  @Benchmark
+  public void intersects(Blackhole blackhole) {
+    for (int i = 0; i < firstColliders.length; i++) {
+      blackhole.consume(firstColliders[i].intersects(secondColliders[i]));
+    }
+  }
+
+  @Benchmark
+  public void batchIntersects(Blackhole blackhole) {
+    for (int i = 0; i < firstBatch.size(); i++) {
+      blackhole.consume(firstBatch.intersects(i, secondBatch, i));
+    }
+  }
+
+  @Benchmark
+  public void contains(Blackhole blackhole) {
+    for (int i = 0; i < firstColliders.length; i++) {
+      Vector3d point = secondColliders[i].position();
+      blackhole.consume(firstColliders[i].contains(point.getX(), point.getY(), point.getZ()));
+    }
+  }
+
+  @Benchmark
+  public void rayIntersects(Blackhole blackhole) {
+    for (int i = 0; i < firstColliders.length; i++) {
+      Collider collider = firstColliders[i];
+      if (collider instanceof AABB aabb) {
+        blackhole.consume(aabb.intersects(rays[i]));
+      } else if (collider instanceof Sphere sphere) {
+        blackhole.consume(sphere.intersects(rays[i]));
+      }
+    }
+  }
+
+  // Colliders are placed in a small volume so roughly half of the pairs intersect
+  private static Collider create(String type, SplittableRandom random) {
+    Vector3d center = position(random);
+    double size = random.nextDouble(0.5, 2);
+    AABB box = new AABB(new Vector3d(-size, -size, -size), new Vector3d(size, size, size));
+    Vector3d axis = new Vector3d(random.nextDouble(-1, 1), random.nextDouble(-1, 1), random.nextDouble(-1, 1)).normalize();
+    double angle = random.nextDouble(0, Math.PI);
+    return switch (type) {
+      case "aabb" -> box.at(center);
+      case "obb" -> new OBB(box, axis, angle).at(center);
+      case "sphere" -> new Sphere(center, size);
+      default -> new Disk(new OBB(new AABB(new Vector3d(-size, -0.1, -size), new Vector3d(size, 0.1, size)), axis, angle), new Sphere(size)).at(center);
+    };
+  }
+
+  private static Vector3d position(SplittableRandom random) {
+    return new Vector3d(random.nextDouble(0, 6), random.nextDouble(0, 6), random.nextDouble(0, 6));
+  }
+}
@@ -17,27 +17,27 @@
  *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
  */
 
-package me.moros.bending.model.ability.description;
+package me.moros.bending.registry;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Collection;
 
-import me.moros.atlas.caffeine.cache.Expiry;
+import me.moros.bending.model.collision.RegisteredCollision;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-public class CooldownExpiry implements Expiry<AbilityDescription, Long> {
-  @Override
-  public long expireAfterCreate(@NonNull AbilityDescription key, @NonNull Long cooldown, long currentTime) {
-    return TimeUnit.MILLISECONDS.toNanos(cooldown);
-  }
-
-  @Override
-  public long expireAfterUpdate(@NonNull AbilityDescription key, @NonNull Long cooldown, long currentTime, long currentDuration) {
-    return Math.max(currentDuration, TimeUnit.MILLISECONDS.toNanos(cooldown));
+/**
+ * Creates registry instances for benchmarks that are independent of the global {@link Registries}.
+ */
+public final class RegistryFixtures {
+  private RegistryFixtures() {
   }
 
-  @Override
-  public long expireAfterRead(@NonNull AbilityDescription key, @NonNull Long cooldown, long currentTime, long currentDuration) {
-    return currentDuration;
+  /**
+   * @param collisions the collisions to register
+   * @return a new collision registry that only contains the given collisions
+   */
+  public static @NonNull CollisionRegistry collisions(@NonNull Collection<@NonNull RegisteredCollision> collisions) {
+    CollisionRegistry registry = new CollisionRegistry();
+    registry.register(collisions);
+    return registry;
   }
 }
-
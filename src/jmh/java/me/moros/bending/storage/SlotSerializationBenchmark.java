@@ -0,0 +1,91 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.model.preset.Preset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion of presets to the slot rows that get stored and back through the {@link IdDictionary} that storage uses.
+ * Rows are kept in memory so only the conversion is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotSerializationBenchmark {
+  private IdDictionary dictionary;
+  private Preset preset;
+  private int[] ids;
+
+  @Setup
+  public void setup() {
+    Map<String, Integer> entries = new HashMap<>();
+    List<String> slots = new ArrayList<>(9);
+    for (int i = 1; i <= 80; i++) {
+      entries.put("Ability" + i, i);
+    }
+    for (int slot = 0; slot < 9; slot++) {
+      slots.add(slot == 4 ? null : "Ability" + (slot * 7 + 1));
+    }
+    dictionary = new IdDictionary(entries);
+    preset = new Preset(1, "benchmark", slots);
+    ids = serialize();
+  }
+
+  @Benchmark
+  public int[] serialize() {
+    List<String> abilities = preset.abilities();
+    int[] result = new int[abilities.size()];
+    for (int slot = 0; slot < result.length; slot++) {
+      result[slot] = dictionary.id(abilities.get(slot));
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Preset deserialize() {
+    String[] abilities = new String[9];
+    for (int slot = 0; slot < ids.length; slot++) {
+      if (ids[slot] != 0) { // Empty slots have no row
+        abilities[slot] = dictionary.name(ids[slot]);
+      }
+    }
+    return new Preset(1, "benchmark", Arrays.asList(abilities));
+  }
+}
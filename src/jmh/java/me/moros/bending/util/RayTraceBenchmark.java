@@ -0,0 +1,113 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import me.moros.bending.model.math.Vector3d;
+import me.moros.bending.util.RayTrace.CompositeResult;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.util.BoundingBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Block ray traces through {@link RayTrace#result(World, java.util.function.Predicate)} in a synthetic world.
+ * The world is a flat floor below y 0 with a wall at x 40 and scattered pillars in between, so rays cross open cells,
+ * pass next to blocks and end on a hit. Blocks are generated on demand so no server is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RayTraceBenchmark {
+  private static final int WALL = 40;
+
+  @Param({"0", "0.5", "1"})
+  public double raySize;
+
+  private World world;
+  private RayTrace hit;
+  private RayTrace miss;
+
+  @Setup
+  public void setup() {
+    world = syntheticWorld();
+    hit = RayTrace.of(new Vector3d(0.5, 1.6, 0.5), new Vector3d(48, -0.5, 9)).raySize(raySize);
+    miss = RayTrace.of(new Vector3d(0.5, 6.6, 0.5), new Vector3d(-20, 2, -30)).raySize(raySize);
+  }
+
+  @Benchmark
+  public CompositeResult blockHit() {
+    return hit.result(world, b -> false);
+  }
+
+  @Benchmark
+  public CompositeResult blockMiss() {
+    return miss.result(world, b -> false);
+  }
+
+  private static boolean isSolid(int x, int y, int z) {
+    return y < 0 || x >= WALL || (y < 4 && ((x * 7 + z * 13) & 15) == 0);
+  }
+
+  // Only the calls made by the block trace are supported, everything in the world is loaded
+  private static World syntheticWorld() {
+    return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class}, (proxy, method, args) -> switch (method.getName()) {
+      case "isChunkLoaded" -> true;
+      case "getType" -> isSolid((int) args[0], (int) args[1], (int) args[2]) ? Material.STONE : Material.AIR;
+      case "getBlockAt" -> syntheticBlock((World) proxy, (int) args[0], (int) args[1], (int) args[2]);
+      case "equals" -> proxy == args[0];
+      case "hashCode" -> System.identityHashCode(proxy);
+      default -> throw new UnsupportedOperationException(method.getName());
+    });
+  }
+
+  private static Block syntheticBlock(World world, int x, int y, int z) {
+    boolean solid = isSolid(x, y, z);
+    return (Block) Proxy.newProxyInstance(Block.class.getClassLoader(), new Class<?>[]{Block.class}, (proxy, method, args) -> switch (method.getName()) {
+      case "getX" -> x;
+      case "getY" -> y;
+      case "getZ" -> z;
+      case "getWorld" -> world;
+      case "getType" -> solid ? Material.STONE : Material.AIR;
+      case "isLiquid" -> false;
+      case "isPassable" -> !solid;
+      case "getBoundingBox" -> solid ? new BoundingBox(x, y, z, x + 1, y + 1, z + 1) : new BoundingBox(x, y, z, x, y, z);
+      case "equals" -> proxy == args[0];
+      case "hashCode" -> System.identityHashCode(proxy);
+      default -> throw new UnsupportedOperationException(method.getName());
+    });
+  }
+}
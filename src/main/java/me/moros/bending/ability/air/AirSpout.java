@@ -21,6 +21,7 @@ package me.moros.bending.ability.air;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 import me.moros.atlas.configurate.CommentedConfigurationNode;
@@ -29,6 +30,8 @@ import me.moros.bending.ability.common.basic.AbstractSpout;
 import me.moros.bending.config.Configurable;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.attribute.Modifiable;
@@ -43,8 +46,9 @@ import me.moros.bending.util.methods.EntityMethods;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-public class AirSpout extends AbilityInstance {
+public class AirSpout extends AbilityInstance implements InputListener {
   private static final Config config = new Config();
+  private static final Set<Input> INPUTS = Set.of(Input.MOVE);
 
   private User user;
   private Config userConfig;
@@ -111,7 +115,13 @@ public class AirSpout extends AbilityInstance {
     return List.of(spout.collider());
   }
 
-  public void handleMovement(@NonNull Vector3d velocity) {
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
+
+  @Override
+  public void onMove(@NonNull Vector3d velocity) {
     AbstractSpout.limitVelocity(this, velocity, userConfig.maxSpeed);
   }
 
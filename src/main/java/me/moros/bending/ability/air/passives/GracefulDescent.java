@@ -19,17 +19,21 @@
 
 package me.moros.bending.ability.air.passives;
 
-import me.moros.bending.Bending;
-import me.moros.bending.model.ability.Ability;
+import java.util.Set;
+
+import me.moros.bending.model.Element;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.user.User;
-import me.moros.bending.registry.Registries;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-public class GracefulDescent extends AbilityInstance implements Ability {
+public class GracefulDescent extends AbilityInstance implements InputListener {
+  private static final Set<Input> INPUTS = Set.of(Input.FALL);
+
   private User user;
 
   public GracefulDescent(@NonNull AbilityDescription desc) {
@@ -52,12 +56,14 @@ public class GracefulDescent extends AbilityInstance implements Ability {
     return UpdateResult.CONTINUE;
   }
 
-  public static boolean isGraceful(@NonNull User user) {
-    if (!Bending.game().abilityManager(user.world()).hasAbility(user, GracefulDescent.class)) {
-      return false;
-    }
-    AbilityDescription desc = Registries.ABILITIES.ability("GracefulDescent");
-    return desc != null && user.canBend(desc);
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
+
+  @Override
+  public boolean onFall() {
+    return user.hasElement(Element.AIR) && user.canBend(description());
   }
 
   @Override
@@ -28,6 +28,7 @@ import me.moros.bending.model.ability.state.StateChain;
 import me.moros.bending.model.math.Vector3d;
 import me.moros.bending.model.user.User;
 import me.moros.bending.util.ParticleUtil;
+import me.moros.bending.util.material.BlockStateCache;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
@@ -139,6 +140,7 @@ public class SelectedSource implements State {
     if (!particles && block != null && block.getType() == material) {
       if (state != null) {
         state.update(true, false);
+        BlockStateCache.INSTANCE.invalidate();
       } else {
         TempBlock.MANAGER.get(block).ifPresent(TempBlock::revert);
       }
@@ -63,7 +63,7 @@ public abstract class AbstractLine extends MovementResolver implements Updatable
     target = result.entity();
     targetLocation = result.entityCenterOrPosition();
     locked = followTarget && target != null;
-    direction = targetLocation.subtract(location).setY(0).normalize();
+    direction = horizontalDirection(location);
   }
 
   @Override
@@ -71,7 +71,7 @@ public abstract class AbstractLine extends MovementResolver implements Updatable
     if (locked) {
       if (isValidTarget()) {
         targetLocation = new Vector3d(target.getLocation());
-        direction = targetLocation.subtract(location).setY(0).normalize();
+        direction = horizontalDirection(location);
       } else {
         locked = false;
       }
@@ -79,7 +79,7 @@ public abstract class AbstractLine extends MovementResolver implements Updatable
 
     if (controllable) {
       targetLocation = user.compositeRayTrace(range).result(user.world()).entityCenterOrPosition();
-      direction = targetLocation.subtract(origin).setY(0).normalize();
+      direction = horizontalDirection(origin);
     }
 
     if (onBlockHit(location.toBlock(user.world()).getRelative(BlockFace.DOWN))) {
@@ -98,7 +98,8 @@ public abstract class AbstractLine extends MovementResolver implements Updatable
     }
 
     render();
-    location = location.add(newLocation).multiply(0.5);
+    location = new Vector3d(0.5 * (location.getX() + newLocation.getX()), 0.5 * (location.getY() + newLocation.getY()),
+      0.5 * (location.getZ() + newLocation.getZ()));
     render(); // Render again at midpoint for a smoother line
     postRender();
     location = newLocation;
@@ -126,6 +127,14 @@ public abstract class AbstractLine extends MovementResolver implements Updatable
     return UpdateResult.CONTINUE;
   }
 
+  // Normalized horizontal direction from the given point to the target location
+  private Vector3d horizontalDirection(Vector3d from) {
+    double dx = targetLocation.getX() - from.getX();
+    double dz = targetLocation.getZ() - from.getZ();
+    double length = Math.sqrt(dx * dx + dz * dz);
+    return length == 0 ? Vector3d.PLUS_I : new Vector3d(dx / length, 0, dz / length);
+  }
+
   @Override
   public @NonNull Collider collider() {
     return collider;
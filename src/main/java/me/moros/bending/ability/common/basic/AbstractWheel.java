@@ -29,6 +29,7 @@ import me.moros.bending.model.collision.geometry.Disk;
 import me.moros.bending.model.collision.geometry.OBB;
 import me.moros.bending.model.collision.geometry.Ray;
 import me.moros.bending.model.collision.geometry.Sphere;
+import me.moros.bending.model.math.FastMath;
 import me.moros.bending.model.math.Vector3d;
 import me.moros.bending.model.user.User;
 import me.moros.bending.util.collision.AABBUtils;
@@ -71,7 +72,8 @@ public abstract class AbstractWheel implements Updatable, SimpleAbility {
     if (!resolveMovement(radius)) {
       return UpdateResult.REMOVE;
     }
-    Block base = location.subtract(new Vector3d(0, radius + 0.25, 0)).toBlock(user.world());
+    int baseY = FastMath.floor(location.getY() - radius - 0.25);
+    Block base = user.world().getBlockAt(FastMath.floor(location.getX()), baseY, FastMath.floor(location.getZ()));
     if (base.isLiquid()) {
       return UpdateResult.REMOVE;
     }
@@ -113,13 +115,14 @@ public abstract class AbstractWheel implements Updatable, SimpleAbility {
         if (resolution > maxResolution) {
           return false;
         } else {
-          location = location.add(new Vector3d(0, resolution, 0));
+          location = new Vector3d(location.getX(), location.getY() + resolution, location.getZ());
           return checkCollisions(nearbyBlocks);
         }
       }
     }
     // Try to fall if the block below doesn't have a bounding box.
-    if (location.setY(bottomY).toBlock(user.world()).isPassable()) {
+    Block below = user.world().getBlockAt(FastMath.floor(location.getX()), FastMath.floor(bottomY), FastMath.floor(location.getZ()));
+    if (below.isPassable()) {
       Disk tempCollider = collider.at(location.subtract(Vector3d.PLUS_J));
       if (nearbyBlocks.stream().map(AABBUtils::blockBounds).noneMatch(tempCollider::intersects)) {
         location = location.add(Vector3d.MINUS_J);
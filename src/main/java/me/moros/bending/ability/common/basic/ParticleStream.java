@@ -19,8 +19,6 @@
 
 package me.moros.bending.ability.common.basic;
 
-import java.util.HashSet;
-import java.util.Set;
 import java.util.function.Predicate;
 
 import me.moros.bending.model.ability.SimpleAbility;
@@ -29,16 +27,19 @@ import me.moros.bending.model.collision.Collider;
 import me.moros.bending.model.collision.geometry.Ray;
 import me.moros.bending.model.collision.geometry.Sphere;
 import me.moros.bending.model.math.FastMath;
+import me.moros.bending.model.math.MutableVector3d;
 import me.moros.bending.model.math.Vector3d;
-import me.moros.bending.model.math.Vector3i;
 import me.moros.bending.model.user.User;
 import me.moros.bending.util.collision.AABBUtils;
 import me.moros.bending.util.collision.CollisionUtil;
+import me.moros.bending.util.collision.CollisionUtil.Sweep;
 import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.VectorMethods;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public abstract class ParticleStream implements Updatable, SimpleAbility {
   private final User user;
@@ -48,6 +49,8 @@ public abstract class ParticleStream implements Updatable, SimpleAbility {
   protected Sphere collider;
   protected Vector3d location;
   protected final Vector3d dir;
+  // Working location, stepped in place and published to location once per step
+  private final MutableVector3d position;
 
   protected boolean livingOnly = true;
   protected boolean singleCollision = false;
@@ -62,6 +65,7 @@ public abstract class ParticleStream implements Updatable, SimpleAbility {
     this.ray = ray;
     this.speed = speed;
     this.location = ray.origin;
+    this.position = new MutableVector3d(location);
     this.maxRange = ray.direction.length();
     this.collisionRadius = collisionRadius;
     this.collider = new Sphere(location, collisionRadius);
@@ -71,22 +75,37 @@ public abstract class ParticleStream implements Updatable, SimpleAbility {
   @Override
   public @NonNull UpdateResult update() {
     Vector3d vector = controlDirection();
+    int stride = FastMath.ceil(speed * steps);
+    // Streams that test more than one step sweep their collider once and skip the tested steps it can't hit anything on
+    boolean sweeping = steps > 1 && stride < steps;
+    Sweep sweep = Sweep.MISS;
+    int sweepStart = 0;
+    double sweptRadius = -1;
     for (int i = 0; i < steps; i++) {
       render();
       postRender();
-      if (steps <= 1 || i % FastMath.ceil(speed * steps) == 0) {
+      if (sweeping && collider.radius > sweptRadius) {
+        // Sweep again from the current step when the collider grows so the window stays conservative
+        sweptRadius = collider.radius;
+        sweepStart = i;
+        sweep = CollisionUtil.sweepEntities(user, collider, vector, steps - 1 - i, livingOnly, false);
+      }
+      if (steps <= 1 || (i % stride == 0 && (!sweeping || sweep.contains(i - sweepStart)))) {
         boolean hitEntity = CollisionUtil.handleEntityCollisions(user, collider, this::onEntityHit, livingOnly, false, singleCollision);
         if (hitEntity) {
           return UpdateResult.REMOVE;
         }
       }
 
-      Vector3d originalVector = new Vector3d(location.toArray());
-      location = location.add(vector);
-      if (location.distanceSq(ray.origin) > maxRange * maxRange || !user.canBuild(location.toBlock(user.world()))) {
+      double x = position.getX();
+      double y = position.getY();
+      double z = position.getZ();
+      // Published before any check so render, onBlockHit and removal see the new location
+      location = position.add(vector).toVector3d();
+      if (position.distanceSq(ray.origin) > maxRange * maxRange || !user.canBuild(position.toBlock(user.world()))) {
         return UpdateResult.REMOVE;
       }
-      if (!validDiagonals(originalVector, vector)) {
+      if (!validDiagonals(x, y, z, vector)) {
         return UpdateResult.REMOVE;
       }
       collider = collider.at(location);
@@ -94,16 +113,31 @@ public abstract class ParticleStream implements Updatable, SimpleAbility {
     return UpdateResult.CONTINUE;
   }
 
-  private boolean validDiagonals(Vector3d originalVector, Vector3d directionVector) {
-    Block originBlock = originalVector.toBlock(user.world());
-    Set<Block> toCheck = new HashSet<>();
+  // Checks the blocks the stream moved through, each block is tested at most once
+  private boolean validDiagonals(double x, double y, double z, Vector3d directionVector) {
+    World world = user.world();
+    Block originBlock = world.getBlockAt(FastMath.floor(x), FastMath.floor(y), FastMath.floor(z));
+    Block midBlock = null;
     if (speed > 1) {
-      toCheck.add(originalVector.add(directionVector.multiply(0.5)).toBlock(user.world()));
+      midBlock = world.getBlockAt(FastMath.floor(x + directionVector.getX() * 0.5),
+        FastMath.floor(y + directionVector.getY() * 0.5), FastMath.floor(z + directionVector.getZ() * 0.5));
+      if (testCollision(midBlock)) {
+        return false;
+      }
     }
-    for (Vector3i v : VectorMethods.decomposeDiagonals(originalVector, directionVector)) {
-      toCheck.add(originBlock.getRelative(v.getX(), v.getY(), v.getZ()));
+    int dx = VectorMethods.diagonalOffset(x, directionVector.getX());
+    int dy = VectorMethods.diagonalOffset(y, directionVector.getY());
+    int dz = VectorMethods.diagonalOffset(z, directionVector.getZ());
+    if (dx == 0 && dy == 0 && dz == 0) {
+      return !testOnce(originBlock, midBlock);
     }
-    return toCheck.stream().noneMatch(this::testCollision);
+    return !((dx != 0 && testOnce(originBlock.getRelative(dx, 0, 0), midBlock))
+      || (dy != 0 && testOnce(originBlock.getRelative(0, dy, 0), midBlock))
+      || (dz != 0 && testOnce(originBlock.getRelative(0, 0, dz), midBlock)));
+  }
+
+  private boolean testOnce(Block block, @Nullable Block tested) {
+    return !block.equals(tested) && testCollision(block);
   }
 
   private boolean testCollision(Block block) {
@@ -19,6 +19,8 @@
 
 package me.moros.bending.ability.earth;
 
+import java.util.Set;
+
 import me.moros.atlas.configurate.CommentedConfigurationNode;
 import me.moros.bending.Bending;
 import me.moros.bending.config.Configurable;
@@ -27,6 +29,8 @@ import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.game.temporal.TempFallingBlock;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.attribute.Modifiable;
@@ -54,10 +58,11 @@ import org.bukkit.potion.PotionEffectType;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-public class EarthArmor extends AbilityInstance {
+public class EarthArmor extends AbilityInstance implements InputListener {
   private enum Mode {ROCK, IRON, GOLD}
 
   private static final Config config = new Config();
+  private static final Set<Input> INPUTS = Set.of(Input.BURN);
 
   private User user;
   private Config userConfig;
@@ -179,9 +184,14 @@ public class EarthArmor extends AbilityInstance {
     return user;
   }
 
-  public static boolean hasArmor(@NonNull User user) {
-    return Bending.game().abilityManager(user.world()).firstInstance(user, EarthArmor.class)
-      .map(e -> e.formed).orElse(false);
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
+
+  @Override
+  public boolean onBurn() {
+    return formed;
   }
 
   private static ItemStack[] getArmorSet(Mode mode) {
@@ -25,6 +25,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Predicate;
 
@@ -40,6 +41,8 @@ import me.moros.bending.game.temporal.TempFallingBlock;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.ActionType;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.Updatable;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.state.State;
@@ -80,11 +83,13 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
-public class EarthLine extends AbilityInstance {
+public class EarthLine extends AbilityInstance implements InputListener {
   private enum Mode {NORMAL, PRISON, MAGMA}
 
   private static final Config config = new Config();
+  private static final Set<Input> INPUTS = Set.of(Input.INTERACT);
 
   private User user;
   private Config userConfig;
@@ -183,9 +188,15 @@ public class EarthLine extends AbilityInstance {
     }
   }
 
-  public static void prisonMode(@NonNull User user) {
-    if (user.selectedAbilityName().equals("EarthLine")) {
-      Bending.game().abilityManager(user.world()).firstInstance(user, EarthLine.class).ifPresent(EarthLine::prisonMode);
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
+
+  @Override
+  public void onInteract(@NonNull Activation method, @Nullable Entity entity, @Nullable Block block) {
+    if (description().equals(user.selectedAbility())) {
+      prisonMode();
     }
   }
 
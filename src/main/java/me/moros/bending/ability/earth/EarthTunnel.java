@@ -36,6 +36,7 @@ import me.moros.bending.model.predicate.removal.Policies;
 import me.moros.bending.model.predicate.removal.RemovalPolicy;
 import me.moros.bending.model.user.User;
 import me.moros.bending.util.BendingProperties;
+import me.moros.bending.util.material.BlockStateCache;
 import me.moros.bending.util.material.EarthMaterials;
 import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.VectorMethods;
@@ -158,6 +159,7 @@ public class EarthTunnel extends AbilityInstance {
       newType = Material.STONE;
     }
     block.setType(newType);
+    BlockStateCache.INSTANCE.invalidate();
 
     int rand = ThreadLocalRandom.current().nextInt(100);
     int factor = rand >= 75 ? 3 : rand >= 50 ? 2 : 1;
@@ -19,15 +19,18 @@
 
 package me.moros.bending.ability.earth.passives;
 
+import java.util.Set;
 import java.util.function.Predicate;
 
 import me.moros.atlas.configurate.CommentedConfigurationNode;
 import me.moros.bending.Bending;
 import me.moros.bending.config.Configurable;
 import me.moros.bending.game.temporal.TempBlock;
-import me.moros.bending.model.ability.Ability;
+import me.moros.bending.model.Element;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.attribute.Modifiable;
@@ -41,8 +44,9 @@ import org.bukkit.block.BlockFace;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-public class DensityShift extends AbilityInstance implements Ability {
+public class DensityShift extends AbilityInstance implements InputListener {
   private static final Config config = new Config();
+  private static final Set<Input> INPUTS = Set.of(Input.FALL);
 
   private User user;
   private Config userConfig;
@@ -68,8 +72,14 @@ public class DensityShift extends AbilityInstance implements Ability {
     return UpdateResult.CONTINUE;
   }
 
-  private boolean isSoftened() {
-    if (!user.canBend(description())) {
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
+
+  @Override
+  public boolean onFall() {
+    if (!user.hasElement(Element.EARTH) || !user.canBend(description())) {
       return false;
     }
     Block block = user.locBlock().getRelative(BlockFace.DOWN);
@@ -80,11 +90,6 @@ public class DensityShift extends AbilityInstance implements Ability {
     return MaterialUtil.isTransparent(block);
   }
 
-  public static boolean isSoftened(@NonNull User user) {
-    return Bending.game().abilityManager(user.world()).firstInstance(user, DensityShift.class)
-      .map(DensityShift::isSoftened).orElse(false);
-  }
-
   private void softenArea() {
     Location center = user.locBlock().getRelative(BlockFace.DOWN).getLocation().add(0.5, 0.5, 0.5);
     Predicate<Block> predicate = b -> EarthMaterials.isEarthOrSand(b) && b.getRelative(BlockFace.UP).isPassable();
@@ -19,12 +19,15 @@
 
 package me.moros.bending.ability.earth.passives;
 
+import java.util.Set;
+
 import me.moros.atlas.configurate.CommentedConfigurationNode;
 import me.moros.bending.Bending;
 import me.moros.bending.config.Configurable;
-import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.attribute.Modifiable;
@@ -33,17 +36,21 @@ import me.moros.bending.model.predicate.removal.Policies;
 import me.moros.bending.model.predicate.removal.RemovalPolicy;
 import me.moros.bending.model.user.User;
 import me.moros.bending.util.SoundUtil;
+import me.moros.bending.util.material.BlockStateCache;
 import me.moros.bending.util.methods.EntityMethods;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.block.Block;
 import org.bukkit.block.data.Openable;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Minecart;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
-public class FerroControl extends AbilityInstance implements Ability {
+public class FerroControl extends AbilityInstance implements InputListener {
   private static final Config config = new Config();
+  private static final Set<Input> INPUTS = Set.of(Input.INTERACT);
 
   private User user;
   private Config userConfig;
@@ -110,6 +117,7 @@ public class FerroControl extends AbilityInstance implements Ability {
     Openable openable = (Openable) block.getBlockData();
     openable.setOpen(!openable.isOpen());
     block.setBlockData(openable);
+    BlockStateCache.INSTANCE.invalidate();
     Sound sound;
     if (block.getType() == Material.IRON_DOOR) {
       sound = openable.isOpen() ? Sound.BLOCK_IRON_DOOR_OPEN : Sound.BLOCK_IRON_DOOR_CLOSE;
@@ -119,10 +127,15 @@ public class FerroControl extends AbilityInstance implements Ability {
     SoundUtil.playSound(block.getLocation(), sound, 0.5F, 0);
   }
 
-  public static void act(@NonNull User user, @NonNull Block block) {
-    if (block.getType() == Material.IRON_DOOR || block.getType() == Material.IRON_TRAPDOOR) {
-      Bending.game().abilityManager(user.world()).firstInstance(user, FerroControl.class)
-        .ifPresent(ability -> ability.act(block));
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
+
+  @Override
+  public void onInteract(@NonNull Activation method, @Nullable Entity entity, @Nullable Block block) {
+    if (block != null && (block.getType() == Material.IRON_DOOR || block.getType() == Material.IRON_TRAPDOOR)) {
+      act(block);
     }
   }
 
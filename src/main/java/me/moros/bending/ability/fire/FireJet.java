@@ -19,6 +19,7 @@
 
 package me.moros.bending.ability.fire;
 
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 import me.moros.atlas.configurate.CommentedConfigurationNode;
@@ -27,6 +28,8 @@ import me.moros.bending.config.Configurable;
 import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.attribute.Modifiable;
@@ -47,8 +50,9 @@ import org.bukkit.block.Block;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-public class FireJet extends AbilityInstance {
+public class FireJet extends AbilityInstance implements InputListener {
   private static final Config config = new Config();
+  private static final Set<Input> INPUTS = Set.of(Input.BURN);
 
   private User user;
   private Config userConfig;
@@ -151,6 +155,16 @@ public class FireJet extends AbilityInstance {
     user.addCooldown(description(), jetBlast ? userConfig.jetBlastCooldown : userConfig.cooldown);
   }
 
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
+
+  @Override
+  public boolean onBurn() {
+    return true;
+  }
+
   @Override
   public @MonotonicNonNull User user() {
     return user;
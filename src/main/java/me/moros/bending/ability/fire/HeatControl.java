@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import me.moros.atlas.configurate.CommentedConfigurationNode;
@@ -30,9 +31,10 @@ import me.moros.bending.Bending;
 import me.moros.bending.ability.common.basic.PhaseTransformer;
 import me.moros.bending.config.Configurable;
 import me.moros.bending.game.temporal.TempBlock;
-import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.attribute.Modifiable;
@@ -53,8 +55,9 @@ import org.bukkit.inventory.PlayerInventory;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-public class HeatControl extends AbilityInstance implements Ability {
+public class HeatControl extends AbilityInstance implements InputListener {
   private static final Config config = new Config();
+  private static final Set<Input> INPUTS = Set.of(Input.SWING, Input.SNEAK, Input.BURN);
 
   private User user;
   private Config userConfig;
@@ -167,7 +170,7 @@ public class HeatControl extends AbilityInstance implements Ability {
     }
   }
 
-  private void onSneak() {
+  private void solidify() {
     if (!user.canBend(description()) || user.onCooldown(description())) {
       return;
     }
@@ -178,15 +181,22 @@ public class HeatControl extends AbilityInstance implements Ability {
     }
   }
 
-  public static void act(@NonNull User user) {
-    if (user.selectedAbilityName().equals("HeatControl")) {
-      Bending.game().abilityManager(user.world()).firstInstance(user, HeatControl.class).ifPresent(HeatControl::act);
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
+
+  @Override
+  public void onSwing() {
+    if (description().equals(user.selectedAbility())) {
+      act();
     }
   }
 
-  public static void onSneak(@NonNull User user) {
-    if (user.selectedAbilityName().equals("HeatControl")) {
-      Bending.game().abilityManager(user.world()).firstInstance(user, HeatControl.class).ifPresent(HeatControl::onSneak);
+  @Override
+  public void onSneak(boolean sneaking) {
+    if (sneaking && description().equals(user.selectedAbility())) {
+      solidify();
     }
   }
 
@@ -197,6 +207,11 @@ public class HeatControl extends AbilityInstance implements Ability {
     return newBlocks;
   }
 
+  @Override
+  public boolean onBurn() {
+    return !canBurn(user);
+  }
+
   public static boolean canBurn(@NonNull User user) {
     AbilityDescription selected = user.selectedAbility();
     if (selected == null) {
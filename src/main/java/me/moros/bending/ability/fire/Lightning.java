@@ -177,7 +177,7 @@ public class Lightning extends AbilityInstance {
     while (arcIterator.hasNext() && counter < userConfig.speed) {
       LineSegment segment = arcIterator.next();
       CompositeResult result = RayTrace.of(segment.start, segment.direction).range(segment.length)
-        .type(Type.COMPOSITE).entityPredicate(this::isValidEntity).ignoreLiquids(false).raySize(0.3).result(user.world());
+        .type(Type.COMPOSITE).entityPredicate(this::isValidEntity).livingOnly(true).ignoreLiquids(false).raySize(0.3).result(user.world());
       if (!segment.isFork) {
         if (ThreadLocalRandom.current().nextInt(6) == 0) {
           SoundUtil.LIGHTNING.play(segment.mid.toLocation(user.world()));
@@ -19,11 +19,15 @@
 
 package me.moros.bending.ability.water;
 
+import java.util.Set;
+
 import me.moros.atlas.configurate.CommentedConfigurationNode;
 import me.moros.bending.Bending;
 import me.moros.bending.config.Configurable;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.attribute.Modifiable;
@@ -37,15 +41,19 @@ import me.moros.bending.util.PotionUtil;
 import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.EntityMethods;
 import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
-public class HealingWaters extends AbilityInstance {
+public class HealingWaters extends AbilityInstance implements InputListener {
   private static final org.bukkit.attribute.Attribute healthAttribute = org.bukkit.attribute.Attribute.GENERIC_MAX_HEALTH;
   private static final Config config = new Config();
+  private static final Set<Input> INPUTS = Set.of(Input.INTERACT);
 
   private User user;
   private Config userConfig;
@@ -128,10 +136,15 @@ public class HealingWaters extends AbilityInstance {
     return false;
   }
 
-  public static void healTarget(@NonNull User user, @NonNull LivingEntity entity) {
-    if (user.selectedAbilityName().equals("HealingWaters")) {
-      Bending.game().abilityManager(user.world()).firstInstance(user, HealingWaters.class)
-        .ifPresent(hw -> hw.healTarget(entity));
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
+
+  @Override
+  public void onInteract(@NonNull Activation method, @Nullable Entity entity, @Nullable Block block) {
+    if (entity instanceof LivingEntity livingEntity && description().equals(user.selectedAbility())) {
+      healTarget(livingEntity);
     }
   }
 
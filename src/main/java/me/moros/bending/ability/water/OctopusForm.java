@@ -27,6 +27,7 @@ import java.util.concurrent.ThreadLocalRandom;
 import me.moros.atlas.configurate.CommentedConfigurationNode;
 import me.moros.bending.Bending;
 import me.moros.bending.config.Configurable;
+import me.moros.bending.game.QualityGovernor;
 import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
@@ -48,6 +49,7 @@ import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.BlockMethods;
 import me.moros.bending.util.methods.EntityMethods;
 import org.bukkit.Material;
+import org.bukkit.Particle;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Entity;
@@ -179,7 +181,11 @@ public class OctopusForm extends AbilityInstance {
     if (MaterialUtil.isWater(block)) {
       ParticleUtil.createBubble(block).spawn();
     } else if (MaterialUtil.isTransparent(block)) {
-      TempBlock.create(block, Material.WATER.createBlockData(), 250);
+      if (QualityGovernor.INSTANCE.visualBlocks()) {
+        TempBlock.create(block, Material.WATER.createBlockData(), 250);
+      } else {
+        ParticleUtil.create(Particle.WATER_SPLASH, block.getLocation().add(0.5, 0.5, 0.5)).count(3).offset(0.25, 0.25, 0.25).spawn();
+      }
     }
   }
 
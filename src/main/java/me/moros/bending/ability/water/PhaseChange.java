@@ -22,6 +22,7 @@ package me.moros.bending.ability.water;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Predicate;
 
@@ -30,9 +31,10 @@ import me.moros.bending.Bending;
 import me.moros.bending.ability.common.basic.PhaseTransformer;
 import me.moros.bending.config.Configurable;
 import me.moros.bending.game.temporal.TempBlock;
-import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.attribute.Modifiable;
@@ -50,8 +52,9 @@ import org.bukkit.block.Block;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-public class PhaseChange extends AbilityInstance implements Ability {
+public class PhaseChange extends AbilityInstance implements InputListener {
   private static final Config config = new Config();
+  private static final Set<Input> INPUTS = Set.of(Input.SWING, Input.SNEAK);
 
   private User user;
   private Config userConfig;
@@ -122,15 +125,22 @@ public class PhaseChange extends AbilityInstance implements Ability {
     return newBlocks;
   }
 
-  public static void freeze(@NonNull User user) {
-    if (user.selectedAbilityName().equals("PhaseChange")) {
-      Bending.game().abilityManager(user.world()).firstInstance(user, PhaseChange.class).ifPresent(PhaseChange::freeze);
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
+
+  @Override
+  public void onSwing() {
+    if (description().equals(user.selectedAbility())) {
+      freeze();
     }
   }
 
-  public static void melt(@NonNull User user) {
-    if (user.selectedAbilityName().equals("PhaseChange")) {
-      Bending.game().abilityManager(user.world()).firstInstance(user, PhaseChange.class).ifPresent(PhaseChange::melt);
+  @Override
+  public void onSneak(boolean sneaking) {
+    if (sneaking && description().equals(user.selectedAbility())) {
+      melt();
     }
   }
 
@@ -35,6 +35,7 @@ import me.moros.bending.ability.common.TravellingSource;
 import me.moros.bending.ability.common.basic.ParticleStream;
 import me.moros.bending.ability.water.sequences.WaterGimbal;
 import me.moros.bending.config.Configurable;
+import me.moros.bending.game.QualityGovernor;
 import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.AbilityInstance;
@@ -248,7 +249,11 @@ public class WaterRing extends AbilityInstance {
       if (MaterialUtil.isWater(block) && !TempBlock.MANAGER.isTemp(block)) {
         ParticleUtil.createBubble(block).spawn();
       } else if (MaterialUtil.isTransparent(block)) {
-        TempBlock.create(block, Material.WATER.createBlockData(), 250);
+        if (QualityGovernor.INSTANCE.visualBlocks()) {
+          TempBlock.create(block, Material.WATER.createBlockData(), 250);
+        } else {
+          ParticleUtil.create(Particle.WATER_SPLASH, block.getLocation().add(0.5, 0.5, 0.5)).count(3).offset(0.25, 0.25, 0.25).spawn();
+        }
       }
     }
 
@@ -22,6 +22,7 @@ package me.moros.bending.ability.water;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Predicate;
 
@@ -32,6 +33,8 @@ import me.moros.bending.config.Configurable;
 import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.attribute.Attribute;
 import me.moros.bending.model.attribute.Modifiable;
@@ -51,8 +54,9 @@ import org.bukkit.block.BlockFace;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-public class WaterSpout extends AbilityInstance {
+public class WaterSpout extends AbilityInstance implements InputListener {
   private static final Config config = new Config();
+  private static final Set<Input> INPUTS = Set.of(Input.MOVE);
 
   private User user;
   private Config userConfig;
@@ -123,7 +127,13 @@ public class WaterSpout extends AbilityInstance {
     return List.of(spout.collider());
   }
 
-  public void handleMovement(@NonNull Vector3d velocity) {
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
+
+  @Override
+  public void onMove(@NonNull Vector3d velocity) {
     AbstractSpout.limitVelocity(this, velocity, userConfig.maxSpeed);
   }
 
@@ -19,22 +19,26 @@
 
 package me.moros.bending.ability.water.passives;
 
-import me.moros.bending.Bending;
-import me.moros.bending.model.ability.Ability;
+import java.util.Set;
+
+import me.moros.bending.model.Element;
 import me.moros.bending.model.ability.AbilityInstance;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.collision.geometry.AABB;
 import me.moros.bending.model.math.Vector3d;
 import me.moros.bending.model.user.User;
-import me.moros.bending.registry.Registries;
 import me.moros.bending.util.collision.AABBUtils;
 import me.moros.bending.util.material.WaterMaterials;
 import me.moros.bending.util.methods.WorldMethods;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-public class HydroSink extends AbilityInstance implements Ability {
+public class HydroSink extends AbilityInstance implements InputListener {
+  private static final Set<Input> INPUTS = Set.of(Input.FALL);
+
   private User user;
 
   public HydroSink(@NonNull AbilityDescription desc) {
@@ -57,13 +61,14 @@ public class HydroSink extends AbilityInstance implements Ability {
     return UpdateResult.CONTINUE;
   }
 
-  public static boolean canHydroSink(@NonNull User user) {
-    AbilityDescription desc = Registries.ABILITIES.ability("HydroSink");
-    if (desc == null || !user.canBend(desc)) {
-      return false;
-    }
+  @Override
+  public @NonNull Set<@NonNull Input> inputs() {
+    return INPUTS;
+  }
 
-    if (!Bending.game().abilityManager(user.world()).hasAbility(user, HydroSink.class)) {
+  @Override
+  public boolean onFall() {
+    if (!user.hasElement(Element.WATER) || !user.canBend(description())) {
       return false;
     }
 
@@ -20,6 +20,7 @@
 package me.moros.bending.command;
 
 import java.util.Collection;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 import co.aikar.commands.BaseCommand;
@@ -44,6 +45,9 @@ import me.moros.bending.model.ability.description.AbilityDescription.Sequence;
 import me.moros.bending.model.predicate.general.BendingConditions;
 import me.moros.bending.model.preset.Preset;
 import me.moros.bending.model.user.BendingPlayer;
+import me.moros.bending.profiler.Profiler;
+import me.moros.bending.profiler.Profiler.AbilityStats;
+import me.moros.bending.profiler.Profiler.Snapshot;
 import me.moros.bending.registry.Registries;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.JoinConfiguration;
@@ -172,6 +176,42 @@ public class BendingCommand extends BaseCommand {
     user.sendMessage(version);
   }
 
+  @Subcommand("profile|prof")
+  @CommandPermission("bending.command.profile")
+  @CommandCompletion("reset")
+  @Description("View the cost of active abilities since the profiler was last reset")
+  public static void onProfile(CommandSender user, @Optional String action) {
+    if (!Profiler.INSTANCE.enabled()) {
+      Message.PROFILE_DISABLED.send(user);
+      return;
+    }
+    if ("reset".equalsIgnoreCase(action)) {
+      Profiler.INSTANCE.reset();
+      Message.PROFILE_RESET.send(user);
+      return;
+    }
+    Snapshot snapshot = Profiler.INSTANCE.snapshot();
+    Message.PROFILE_HEADER.send(user, snapshot.window() / 1000);
+    snapshot.abilities().stream().limit(10).forEach(stats -> user.sendMessage(profileEntry(stats)));
+    user.sendMessage(Component.text("Collisions: ", NamedTextColor.DARK_AQUA)
+      .append(Component.text(snapshot.collisionCandidates() + " candidates, " + snapshot.collisionHits() + " hits, p99 "
+        + millis(snapshot.collisionP99()), NamedTextColor.GRAY)));
+    user.sendMessage(Component.text("TempBlocks: ", NamedTextColor.DARK_AQUA)
+      .append(Component.text(snapshot.tempBlocksCreated() + " created, " + snapshot.tempBlocksReverted() + " reverted", NamedTextColor.GRAY)));
+    snapshot.gauges().forEach((name, value) -> user.sendMessage(Component.text(name + ": ", NamedTextColor.DARK_AQUA)
+      .append(Component.text(value, NamedTextColor.GRAY))));
+  }
+
+  private static Component profileEntry(AbilityStats stats) {
+    String details = String.format(Locale.ROOT, " %d active, %d updates, total %s, p50 %s, p99 %s, max %s", stats.instances(),
+      stats.updates(), millis(stats.total()), millis(stats.p50()), millis(stats.p99()), millis(stats.max()));
+    return Component.text(stats.name(), NamedTextColor.GREEN).append(Component.text(details, NamedTextColor.GRAY));
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.3fms", nanos / 1e6);
+  }
+
   @Subcommand("display|d|elements|element|elem|e")
   @CommandPermission("bending.command.display")
   @CommandCompletion("@elements")
@@ -20,14 +20,15 @@
 package me.moros.bending.config;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import me.moros.atlas.configurate.CommentedConfigurationNode;
 import me.moros.atlas.configurate.hocon.HoconConfigurationLoader;
@@ -35,28 +36,14 @@ import me.moros.bending.Bending;
 import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.attribute.Attribute;
-import me.moros.bending.model.attribute.AttributeConverter;
-import me.moros.bending.model.attribute.AttributeModifier;
-import me.moros.bending.model.attribute.Modifiable;
 import me.moros.bending.model.attribute.ModifierOperation;
 import me.moros.bending.model.user.User;
 import me.moros.bending.registry.Registries;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public final class ConfigManager {
-  private static final Map<Class<? extends Number>, AttributeConverter> converters;
-
-  static {
-    converters = Map.of(Double.class, AttributeConverter.DOUBLE,
-      Integer.class, AttributeConverter.INT,
-      Long.class, AttributeConverter.LONG,
-      double.class, AttributeConverter.DOUBLE,
-      int.class, AttributeConverter.INT,
-      long.class, AttributeConverter.LONG
-    );
-  }
-
   private final Collection<Configurable> instances = new ArrayList<>();
+  private final Map<UUID, Map<AbilityDescription, Configurable>> userConfigs = new ConcurrentHashMap<>();
   private final HoconConfigurationLoader loader;
 
   private CommentedConfigurationNode configRoot;
@@ -76,6 +63,7 @@ public final class ConfigManager {
     try {
       configRoot = loader.load();
       instances.forEach(Configurable::reload);
+      userConfigs.clear();
     } catch (IOException e) {
       Bending.logger().warn(e.getMessage(), e);
     }
@@ -98,14 +86,50 @@ public final class ConfigManager {
     instances.add(c);
   }
 
-  @SuppressWarnings({"unchecked", "deprecation"})
+  /**
+   * Discard all cached configs that were calculated for the specified user.
+   * @param user the user whose attribute modifiers have changed
+   */
+  public void invalidate(@NonNull User user) {
+    userConfigs.remove(user.entity().getUniqueId());
+  }
+
+  @SuppressWarnings("unchecked")
   public <T extends Configurable> T calculate(@NonNull Ability ability, @NonNull T config) {
     User user = ability.user();
+    if (!Registries.ATTRIBUTES.contains(user)) {
+      return config;
+    }
     AbilityDescription desc = ability.description();
-    Collection<AttributeModifier> activeModifiers = Registries.ATTRIBUTES.attributes(user)
-      .filter(modifier -> modifier.policy().shouldModify(desc)).collect(Collectors.toList());
+    Map<AbilityDescription, Configurable> cache = userConfigs.computeIfAbsent(user.entity().getUniqueId(), u -> new ConcurrentHashMap<>());
+    Configurable cached = cache.get(desc);
+    if (cached != null && cached.getClass() == config.getClass()) {
+      return (T) cached;
+    }
+    T newConfig = compute(user, desc, config);
+    cache.put(desc, newConfig);
+    return newConfig;
+  }
 
-    if (activeModifiers.isEmpty()) {
+  @SuppressWarnings("unchecked")
+  private <T extends Configurable> T compute(User user, AbilityDescription desc, T config) {
+    ModifierPlan plan = ModifierPlan.of(config.getClass());
+    if (plan.isEmpty()) {
+      return config;
+    }
+    Map<Attribute, double[]> operations = new EnumMap<>(Attribute.class);
+    Registries.ATTRIBUTES.attributes(user).filter(modifier -> modifier.policy().shouldModify(desc)).forEach(modifier -> {
+      double[] op = operations.computeIfAbsent(modifier.attribute(), a -> new double[]{0, 1, 1});
+      if (modifier.type() == ModifierOperation.ADDITIVE) {
+        op[0] += modifier.value();
+      } else if (modifier.type() == ModifierOperation.SUMMED_MULTIPLICATIVE) {
+        op[1] += modifier.value();
+      } else if (modifier.type() == ModifierOperation.MULTIPLICATIVE) {
+        op[2] *= modifier.value();
+      }
+    });
+    operations.keySet().retainAll(plan.attributes());
+    if (operations.isEmpty()) {
       return config;
     }
 
@@ -116,54 +140,7 @@ public final class ConfigManager {
       Bending.logger().warn(e.getMessage(), e);
       return config;
     }
-
-    for (Field field : newConfig.getClass().getDeclaredFields()) {
-      if (field.isAnnotationPresent(Modifiable.class)) {
-        boolean wasAccessible = field.isAccessible();
-        field.setAccessible(true);
-        modifyField(field, newConfig, activeModifiers);
-        field.setAccessible(wasAccessible);
-      }
-    }
-
+    operations.forEach((attribute, op) -> plan.apply(newConfig, attribute, op));
     return newConfig;
   }
-
-  private void modifyField(Field field, Configurable config, Collection<AttributeModifier> activeModifiers) {
-    double value;
-    try {
-      value = ((Number) field.get(config)).doubleValue();
-    } catch (IllegalAccessException e) {
-      Bending.logger().warn(e.getMessage(), e);
-      return;
-    }
-
-    double[] operations = new double[]{0, 1, 1};
-    for (AttributeModifier modifier : activeModifiers) {
-      if (hasAttribute(field, modifier.attribute())) {
-        if (modifier.type() == ModifierOperation.ADDITIVE) {
-          operations[0] += modifier.value();
-        } else if (modifier.type() == ModifierOperation.SUMMED_MULTIPLICATIVE) {
-          operations[1] += modifier.value();
-        } else if (modifier.type() == ModifierOperation.MULTIPLICATIVE) {
-          operations[2] *= modifier.value();
-        }
-      }
-    }
-    value = (value + operations[0]) * operations[1] * operations[2];
-    try {
-      field.set(config, converters.getOrDefault(field.getType(), AttributeConverter.DOUBLE).apply(value));
-    } catch (IllegalAccessException e) {
-      Bending.logger().warn(e.getMessage(), e);
-    }
-  }
-
-  private boolean hasAttribute(Field field, Attribute attribute) {
-    for (Modifiable a : field.getAnnotationsByType(Modifiable.class)) {
-      if (attribute.equals(a.value())) {
-        return true;
-      }
-    }
-    return false;
-  }
 }
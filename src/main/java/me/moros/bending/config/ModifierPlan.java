@@ -0,0 +1,134 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.config;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import me.moros.bending.Bending;
+import me.moros.bending.model.attribute.Attribute;
+import me.moros.bending.model.attribute.AttributeConverter;
+import me.moros.bending.model.attribute.Modifiable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Describes how attribute modifiers are applied to a {@link Configurable} type.
+ * Each type is analyzed once and its {@link Modifiable} fields are grouped by attribute and resolved to {@link VarHandle}s.
+ */
+final class ModifierPlan {
+  private static final ClassValue<ModifierPlan> PLANS = new ClassValue<>() {
+    @Override
+    protected ModifierPlan computeValue(Class<?> type) {
+      return new ModifierPlan(type);
+    }
+  };
+
+  private static final Map<Class<?>, AttributeConverter> CONVERTERS = Map.of(
+    Double.class, AttributeConverter.DOUBLE,
+    Integer.class, AttributeConverter.INT,
+    Long.class, AttributeConverter.LONG,
+    double.class, AttributeConverter.DOUBLE,
+    int.class, AttributeConverter.INT,
+    long.class, AttributeConverter.LONG
+  );
+
+  private final Map<Attribute, FieldAccessor[]> accessors;
+
+  private ModifierPlan(Class<?> type) {
+    Map<Attribute, List<FieldAccessor>> grouped = new EnumMap<>(Attribute.class);
+    MethodHandles.Lookup lookup;
+    try {
+      lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    } catch (IllegalAccessException e) {
+      Bending.logger().warn(e.getMessage(), e);
+      accessors = Map.of();
+      return;
+    }
+    for (Field field : type.getDeclaredFields()) {
+      Modifiable[] annotations = field.getAnnotationsByType(Modifiable.class);
+      if (annotations.length == 0) {
+        continue;
+      }
+      FieldAccessor accessor;
+      try {
+        VarHandle handle = lookup.unreflectVarHandle(field);
+        accessor = new FieldAccessor(handle, CONVERTERS.getOrDefault(field.getType(), AttributeConverter.DOUBLE));
+      } catch (IllegalAccessException e) {
+        Bending.logger().warn(e.getMessage(), e);
+        continue;
+      }
+      for (Modifiable annotation : annotations) {
+        grouped.computeIfAbsent(annotation.value(), a -> new ArrayList<>()).add(accessor);
+      }
+    }
+    Map<Attribute, FieldAccessor[]> result = new EnumMap<>(Attribute.class);
+    grouped.forEach((attribute, list) -> result.put(attribute, list.toArray(FieldAccessor[]::new)));
+    accessors = result;
+  }
+
+  static @NonNull ModifierPlan of(@NonNull Class<? extends Configurable> type) {
+    return PLANS.get(type);
+  }
+
+  boolean isEmpty() {
+    return accessors.isEmpty();
+  }
+
+  @NonNull Collection<@NonNull Attribute> attributes() {
+    return accessors.keySet();
+  }
+
+  /**
+   * Apply the aggregated modifier operations for the specified attribute.
+   * @param config the config to modify
+   * @param attribute the attribute to modify
+   * @param operations the additive, summed multiplicative and multiplicative factors
+   */
+  void apply(@NonNull Configurable config, @NonNull Attribute attribute, double[] operations) {
+    FieldAccessor[] fields = accessors.get(attribute);
+    if (fields == null) {
+      return;
+    }
+    for (FieldAccessor field : fields) {
+      double value = field.get(config);
+      field.set(config, (value + operations[0]) * operations[1] * operations[2]);
+    }
+  }
+
+  private record FieldAccessor(VarHandle handle, AttributeConverter converter) {
+    private double get(Configurable config) {
+      return ((Number) handle.get(config)).doubleValue();
+    }
+
+    private void set(Configurable config, double value) {
+      switch (converter) {
+        case INT -> handle.set(config, (int) value);
+        case LONG -> handle.set(config, (long) value);
+        default -> handle.set(config, value);
+      }
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import me.moros.bending.model.ability.Ability;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Groups ability instances by every ability type they are an instance of, so typed lookups are a single map access.
+ * @param <C> the collection type used to store the instances of each type
+ */
+final class AbilityIndex<C extends Collection<Ability>> {
+  // All classes and interfaces that are assignable to Ability for a given ability class
+  private static final ClassValue<Class<?>[]> HIERARCHY = new ClassValue<>() {
+    @Override
+    protected Class<?>[] computeValue(Class<?> type) {
+      List<Class<?>> result = new ArrayList<>();
+      collect(type, result);
+      return result.toArray(Class<?>[]::new);
+    }
+
+    private void collect(Class<?> type, List<Class<?>> result) {
+      if (type == null || !Ability.class.isAssignableFrom(type) || result.contains(type)) {
+        return;
+      }
+      result.add(type);
+      collect(type.getSuperclass(), result);
+      for (Class<?> parent : type.getInterfaces()) {
+        collect(parent, result);
+      }
+    }
+  };
+
+  private final Map<Class<?>, C> instances;
+  private final Supplier<C> factory;
+
+  AbilityIndex(@NonNull Supplier<C> factory) {
+    this.instances = new HashMap<>();
+    this.factory = factory;
+  }
+
+  void add(@NonNull Ability ability) {
+    for (Class<?> type : HIERARCHY.get(ability.getClass())) {
+      instances.computeIfAbsent(type, t -> factory.get()).add(ability);
+    }
+  }
+
+  void remove(@NonNull Ability ability) {
+    for (Class<?> type : HIERARCHY.get(ability.getClass())) {
+      C collection = instances.get(type);
+      if (collection != null && collection.remove(ability) && collection.isEmpty()) {
+        instances.remove(type);
+      }
+    }
+  }
+
+  /**
+   * @param type the type to look up
+   * @return the live collection of instances of the given type or null if there are none
+   */
+  @Nullable C get(@NonNull Class<?> type) {
+    return instances.get(type);
+  }
+
+  boolean isEmpty() {
+    return instances.isEmpty();
+  }
+
+  void clear() {
+    instances.clear();
+  }
+}
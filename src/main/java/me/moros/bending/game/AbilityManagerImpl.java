@@ -21,7 +21,11 @@ package me.moros.bending.game;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,19 +39,31 @@ import me.moros.bending.Bending;
 import me.moros.bending.model.AbilityManager;
 import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.Updatable.UpdateResult;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.user.User;
+import me.moros.bending.profiler.Profiler;
 import me.moros.bending.registry.Registries;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class AbilityManagerImpl implements AbilityManager {
   private final Multimap<UUID, Ability> globalInstances;
+  private final Multimap<AbilityDescription, Ability> descriptionInstances;
+  private final Map<UUID, AbilityIndex<List<Ability>>> userTypeInstances;
+  private final AbilityIndex<LinkedHashSet<Ability>> typeInstances;
+  private final Map<UUID, Map<Input, Subscribers>> subscriptions;
   private final Collection<Map.Entry<UUID, Ability>> addQueue;
 
   @SuppressWarnings("UnstableApiUsage")
   AbilityManagerImpl() {
     globalInstances = MultimapBuilder.hashKeys(32).arrayListValues(16).build();
+    descriptionInstances = MultimapBuilder.hashKeys(32).linkedHashSetValues(16).build();
+    userTypeInstances = new HashMap<>(32);
+    typeInstances = new AbilityIndex<>(LinkedHashSet::new);
+    subscriptions = new HashMap<>(32);
     addQueue = new ArrayList<>(16);
   }
 
@@ -61,10 +77,14 @@ public class AbilityManagerImpl implements AbilityManager {
     if (ability.user().equals(user) || !ability.user().world().equals(user.world())) {
       return;
     }
-    if (globalInstances.remove(ability.user().entity().getUniqueId(), ability)) {
+    UUID oldUuid = ability.user().entity().getUniqueId();
+    if (globalInstances.remove(oldUuid, ability)) {
+      unindexUser(oldUuid, ability);
       ability.onUserChange(user);
       ability.loadConfig();
-      globalInstances.put(user.entity().getUniqueId(), ability);
+      UUID uuid = user.entity().getUniqueId();
+      globalInstances.put(uuid, ability);
+      indexUser(uuid, ability);
     }
   }
 
@@ -90,29 +110,31 @@ public class AbilityManagerImpl implements AbilityManager {
 
   @Override
   public <T extends Ability> boolean hasAbility(@NonNull User user, @NonNull Class<T> type) {
-    return userInstances(user, type).findAny().isPresent();
+    return userIndex(user, type) != null;
   }
 
   @Override
   public void destroyInstance(@NonNull Ability ability) {
-    if (globalInstances.remove(ability.user().entity().getUniqueId(), ability)) {
+    UUID uuid = ability.user().entity().getUniqueId();
+    if (globalInstances.remove(uuid, ability)) {
+      unindex(uuid, ability);
       ability.onDestroy();
     }
   }
 
   @Override
   public <T extends Ability> boolean destroyInstanceType(@NonNull User user, @NonNull Class<T> type) {
-    boolean destroyed = false;
-    Iterator<Ability> iterator = globalInstances.get(user.entity().getUniqueId()).iterator();
-    while (iterator.hasNext()) {
-      Ability ability = iterator.next();
-      if (type.isInstance(ability)) {
-        iterator.remove();
-        ability.onDestroy();
-        destroyed = true;
-      }
+    List<Ability> matches = userIndex(user, type);
+    if (matches == null) {
+      return false;
+    }
+    UUID uuid = user.entity().getUniqueId();
+    for (Ability ability : List.copyOf(matches)) {
+      globalInstances.remove(uuid, ability);
+      unindex(uuid, ability);
+      ability.onDestroy();
     }
-    return destroyed;
+    return true;
   }
 
   @Override
@@ -122,12 +144,14 @@ public class AbilityManagerImpl implements AbilityManager {
 
   @Override
   public <T extends Ability> @NonNull Stream<T> userInstances(@NonNull User user, @NonNull Class<T> type) {
-    return userInstances(user).filter(type::isInstance).map(type::cast);
+    List<Ability> matches = userIndex(user, type);
+    return matches == null ? Stream.empty() : matches.stream().map(type::cast);
   }
 
   @Override
   public <T extends Ability> Optional<T> firstInstance(@NonNull User user, @NonNull Class<T> type) {
-    return userInstances(user, type).findFirst();
+    List<Ability> matches = userIndex(user, type);
+    return matches == null ? Optional.empty() : Optional.of(type.cast(matches.get(0)));
   }
 
   @Override
@@ -137,39 +161,170 @@ public class AbilityManagerImpl implements AbilityManager {
 
   @Override
   public <T extends Ability> @NonNull Stream<T> instances(@NonNull Class<T> type) {
-    return instances().filter(type::isInstance).map(type::cast);
+    Collection<Ability> matches = typeInstances.get(type);
+    return matches == null ? Stream.empty() : matches.stream().map(type::cast);
+  }
+
+  @Override
+  public @NonNull Stream<Ability> instances(@NonNull AbilityDescription desc) {
+    return descriptionInstances.get(desc).stream();
+  }
+
+  @Override
+  public @NonNull List<@NonNull InputListener> subscribers(@NonNull User user, @NonNull Input input) {
+    Map<Input, Subscribers> userSubscriptions = subscriptions.get(user.entity().getUniqueId());
+    Subscribers subscribers = userSubscriptions == null ? null : userSubscriptions.get(input);
+    return subscribers == null ? List.of() : subscribers.firstOfType;
   }
 
   @Override
   public void destroyUserInstances(@NonNull User user) {
-    globalInstances.removeAll(user.entity().getUniqueId()).forEach(Ability::onDestroy);
+    UUID uuid = user.entity().getUniqueId();
+    userTypeInstances.remove(uuid);
+    subscriptions.remove(uuid);
+    for (Ability ability : globalInstances.removeAll(uuid)) {
+      descriptionInstances.remove(ability.description(), ability);
+      typeInstances.remove(ability);
+      ability.onDestroy();
+    }
   }
 
   @Override
   public void destroyAllInstances() {
     globalInstances.values().forEach(Ability::onDestroy);
     globalInstances.clear();
+    descriptionInstances.clear();
+    userTypeInstances.clear();
+    typeInstances.clear();
+    subscriptions.clear();
   }
 
   @Override
   public void update() {
     // Add any queued abilities to global instances
-    addQueue.forEach(entry -> globalInstances.put(entry.getKey(), entry.getValue()));
+    for (Map.Entry<UUID, Ability> entry : addQueue) {
+      globalInstances.put(entry.getKey(), entry.getValue());
+      index(entry.getKey(), entry.getValue());
+    }
     addQueue.clear();
     // Update all instances and remove invalid instances
-    Iterator<Ability> globalIterator = globalInstances.values().iterator();
+    Iterator<Map.Entry<UUID, Ability>> globalIterator = globalInstances.entries().iterator();
     while (globalIterator.hasNext()) {
-      Ability ability = globalIterator.next();
+      Map.Entry<UUID, Ability> entry = globalIterator.next();
+      Ability ability = entry.getValue();
       UpdateResult result = UpdateResult.REMOVE;
+      long start = Profiler.INSTANCE.start();
       try (MCTiming timing = Bending.timingManager().of(ability.description().name()).startTiming()) {
         result = ability.update();
       } catch (Exception e) {
         Bending.logger().warn(e.getMessage(), e);
       }
+      Profiler.INSTANCE.recordAbility(ability.description(), start);
       if (result == UpdateResult.REMOVE) {
         globalIterator.remove();
+        unindex(entry.getKey(), ability);
         ability.onDestroy();
       }
     }
   }
+
+  private @Nullable List<Ability> userIndex(User user, Class<?> type) {
+    AbilityIndex<List<Ability>> index = userTypeInstances.get(user.entity().getUniqueId());
+    return index == null ? null : index.get(type);
+  }
+
+  private void index(UUID uuid, Ability ability) {
+    descriptionInstances.put(ability.description(), ability);
+    typeInstances.add(ability);
+    indexUser(uuid, ability);
+  }
+
+  private void indexUser(UUID uuid, Ability ability) {
+    userTypeInstances.computeIfAbsent(uuid, u -> new AbilityIndex<>(ArrayList::new)).add(ability);
+    if (ability instanceof InputListener listener) {
+      Map<Input, Subscribers> userSubscriptions = subscriptions.computeIfAbsent(uuid, u -> new EnumMap<>(Input.class));
+      for (Input input : listener.inputs()) {
+        userSubscriptions.computeIfAbsent(input, i -> new Subscribers()).add(listener);
+      }
+    }
+  }
+
+  private void unindex(UUID uuid, Ability ability) {
+    descriptionInstances.remove(ability.description(), ability);
+    typeInstances.remove(ability);
+    unindexUser(uuid, ability);
+  }
+
+  private void unindexUser(UUID uuid, Ability ability) {
+    AbilityIndex<List<Ability>> index = userTypeInstances.get(uuid);
+    if (index != null) {
+      index.remove(ability);
+      if (index.isEmpty()) {
+        userTypeInstances.remove(uuid);
+      }
+    }
+    Map<Input, Subscribers> userSubscriptions = subscriptions.get(uuid);
+    if (userSubscriptions != null && ability instanceof InputListener listener) {
+      for (Input input : listener.inputs()) {
+        Subscribers listeners = userSubscriptions.get(input);
+        if (listeners != null && listeners.remove(listener) && listeners.isEmpty()) {
+          userSubscriptions.remove(input);
+        }
+      }
+      if (userSubscriptions.isEmpty()) {
+        subscriptions.remove(uuid);
+      }
+    }
+  }
+
+  // Listeners of a single input in the order of the user index, so the first listener of each type is also its first instance
+  private static final class Subscribers {
+    private final List<InputListener> listeners = new ArrayList<>(2);
+    // Immutable so it can be handed out as is, replaced whenever the first listener of a type changes
+    private List<InputListener> firstOfType = List.of();
+
+    private void add(InputListener listener) {
+      listeners.add(listener);
+      if (indexOfType(listener.getClass()) < 0) {
+        InputListener[] result = firstOfType.toArray(new InputListener[firstOfType.size() + 1]);
+        result[result.length - 1] = listener;
+        firstOfType = List.of(result);
+      }
+    }
+
+    private boolean remove(InputListener listener) {
+      if (!listeners.remove(listener)) {
+        return false;
+      }
+      int index = indexOfType(listener.getClass());
+      if (index >= 0 && firstOfType.get(index) == listener) {
+        rebuild();
+      }
+      return true;
+    }
+
+    private boolean isEmpty() {
+      return listeners.isEmpty();
+    }
+
+    private int indexOfType(Class<?> type) {
+      for (int i = 0; i < firstOfType.size(); i++) {
+        if (firstOfType.get(i).getClass() == type) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private void rebuild() {
+      List<InputListener> result = new ArrayList<>(listeners.size());
+      for (InputListener listener : listeners) {
+        if (result.stream().noneMatch(l -> l.getClass() == listener.getClass())) {
+          result.add(listener);
+        }
+      }
+      firstOfType = List.copyOf(result);
+    }
+  }
+
 }
@@ -19,38 +19,24 @@
 
 package me.moros.bending.game;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import me.moros.bending.Bending;
 import me.moros.bending.ability.air.AirScooter;
-import me.moros.bending.ability.air.AirSpout;
-import me.moros.bending.ability.air.passives.GracefulDescent;
 import me.moros.bending.ability.air.sequences.AirWheel;
-import me.moros.bending.ability.earth.EarthArmor;
-import me.moros.bending.ability.earth.EarthLine;
 import me.moros.bending.ability.earth.EarthSmash;
-import me.moros.bending.ability.earth.passives.DensityShift;
-import me.moros.bending.ability.earth.passives.FerroControl;
 import me.moros.bending.ability.earth.sequences.EarthPillars;
-import me.moros.bending.ability.fire.FireJet;
-import me.moros.bending.ability.fire.HeatControl;
-import me.moros.bending.ability.water.HealingWaters;
-import me.moros.bending.ability.water.PhaseChange;
-import me.moros.bending.ability.water.WaterSpout;
-import me.moros.bending.ability.water.WaterWave;
-import me.moros.bending.ability.water.passives.HydroSink;
-import me.moros.bending.ability.water.sequences.Iceberg;
-import me.moros.bending.ability.water.sequences.WaterGimbal;
 import me.moros.bending.game.temporal.TempArmor;
 import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.AbilityManager;
 import me.moros.bending.model.Element;
 import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.math.Vector3d;
 import me.moros.bending.model.user.BendingPlayer;
@@ -71,10 +57,10 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * Handles ability activation.
  */
 public final class ActivationController {
-  private final ControllerCache cache;
+  private final Set<UUID> ignoreSwing;
 
   ActivationController() {
-    this.cache = new ControllerCache();
+    ignoreSwing = new HashSet<>();
   }
 
   public @Nullable Ability activateAbility(@NonNull User user, @NonNull Activation method) {
@@ -108,7 +94,7 @@ public final class ActivationController {
   }
 
   public void onUserSwing(@NonNull User user) {
-    if (cache.ignoreSwing.contains(user.entity().getUniqueId())) {
+    if (ignoreSwing.contains(user.entity().getUniqueId())) {
       return;
     }
     AbilityManager manager = Bending.game().abilityManager(user.world());
@@ -117,11 +103,9 @@ public final class ActivationController {
     }
     ignoreNextSwing(user);
 
-    PhaseChange.freeze(user);
-    WaterWave.freeze(user);
-    Iceberg.launch(user);
-    WaterGimbal.launch(user);
-    HeatControl.act(user);
+    for (InputListener listener : subscribers(user, Input.SWING)) {
+      listener.onSwing();
+    }
 
     if (user.compositeRayTrace(3).result(user.world(), Type.ENTITY).hit()) {
       Bending.game().sequenceManager().registerStep(user, Activation.ATTACK_ENTITY);
@@ -132,9 +116,8 @@ public final class ActivationController {
   }
 
   public void onUserSneak(@NonNull User user, boolean sneaking) {
-    if (sneaking) {
-      PhaseChange.melt(user);
-      HeatControl.onSneak(user);
+    for (InputListener listener : subscribers(user, Input.SNEAK)) {
+      listener.onSneak(sneaking);
     }
 
     Activation action = sneaking ? Activation.SNEAK : Activation.SNEAK_RELEASE;
@@ -144,17 +127,24 @@ public final class ActivationController {
   }
 
   public void onUserMove(@NonNull User user, @NonNull Vector3d velocity) {
-    if (user.hasElement(Element.AIR)) {
-      AirSpout spout = cache.getAirSpout(user);
-      if (spout != null) {
-        spout.handleMovement(velocity.setY(0));
+    List<InputListener> listeners = subscribers(user, Input.MOVE);
+    if (!listeners.isEmpty()) {
+      Vector3d horizontal = velocity.setY(0);
+      for (InputListener listener : listeners) {
+        listener.onMove(horizontal);
       }
     }
-    if (user.hasElement(Element.WATER)) {
-      WaterSpout spout = cache.getWaterSpout(user);
-      if (spout != null) {
-        spout.handleMovement(velocity.setY(0));
-      }
+  }
+
+  public void onUserSprint(@NonNull User user, boolean sprinting) {
+    for (InputListener listener : subscribers(user, Input.SPRINT)) {
+      listener.onSprint(sprinting);
+    }
+  }
+
+  public void onUserJump(@NonNull User user) {
+    for (InputListener listener : subscribers(user, Input.JUMP)) {
+      listener.onJump();
     }
   }
 
@@ -183,26 +173,22 @@ public final class ActivationController {
   }
 
   private boolean onBurn(@NonNull User user) {
-    if (Bending.game().abilityManager(user.world()).hasAbility(user, FireJet.class)) {
-      return false;
-    }
-    if (EarthArmor.hasArmor(user)) {
-      return false;
+    for (InputListener listener : subscribers(user, Input.BURN)) {
+      if (listener.onBurn()) {
+        return false;
+      }
     }
-    return HeatControl.canBurn(user);
+    return true;
   }
 
   private boolean onFall(@NonNull User user) {
+    // Catapult activates a new EarthPillars instance, like the fall activation it doesn't depend on a live instance
     EarthPillars.onFall(user);
     activateAbility(user, Activation.FALL);
-    if (user.hasElement(Element.AIR) && GracefulDescent.isGraceful(user)) {
-      return false;
-    }
-    if (user.hasElement(Element.WATER) && HydroSink.canHydroSink(user)) {
-      return false;
-    }
-    if (user.hasElement(Element.EARTH) && DensityShift.isSoftened(user)) {
-      return false;
+    for (InputListener listener : subscribers(user, Input.FALL)) {
+      if (listener.onFall()) {
+        return false;
+      }
     }
     return !Bending.game().flightManager().hasFlight(user);
   }
@@ -236,53 +222,26 @@ public final class ActivationController {
     }
     ignoreNextSwing(user);
 
-    if (entity instanceof LivingEntity livingEntity) {
-      HealingWaters.healTarget(user, livingEntity);
+    for (InputListener listener : subscribers(user, Input.INTERACT)) {
+      listener.onInteract(method, entity, block);
     }
     if (block != null) {
-      FerroControl.act(user, block);
       EarthSmash.tryDestroy(user, block);
     }
-    EarthLine.prisonMode(user);
 
     Bending.game().sequenceManager().registerStep(user, method);
     activateAbility(user, method);
   }
 
   public void ignoreNextSwing(@NonNull User user) {
-    cache.ignoreSwing.add(user.entity().getUniqueId());
+    ignoreSwing.add(user.entity().getUniqueId());
   }
 
-  // Optimize player move events by caching instances every tick
-  private static class ControllerCache {
-    private final Map<UUID, AirSpout> airSpoutCache;
-    private final Map<UUID, WaterSpout> waterSpoutCache;
-    private final Set<UUID> ignoreSwing;
-
-    private ControllerCache() {
-      airSpoutCache = new HashMap<>();
-      waterSpoutCache = new HashMap<>();
-      ignoreSwing = new HashSet<>();
-    }
-
-    private @Nullable AirSpout getAirSpout(@NonNull User user) {
-      UUID uuid = user.entity().getUniqueId();
-      return airSpoutCache.computeIfAbsent(uuid, u -> Bending.game().abilityManager(user.world()).firstInstance(user, AirSpout.class).orElse(null));
-    }
-
-    private @Nullable WaterSpout getWaterSpout(@NonNull User user) {
-      UUID uuid = user.entity().getUniqueId();
-      return waterSpoutCache.computeIfAbsent(uuid, u -> Bending.game().abilityManager(user.world()).firstInstance(user, WaterSpout.class).orElse(null));
-    }
-
-    private void clear() {
-      airSpoutCache.clear();
-      waterSpoutCache.clear();
-      ignoreSwing.clear();
-    }
+  private List<InputListener> subscribers(User user, Input input) {
+    return Bending.game().abilityManager(user.world()).subscribers(user, input);
   }
 
   public void clearCache() {
-    cache.clear();
+    ignoreSwing.clear();
   }
 }
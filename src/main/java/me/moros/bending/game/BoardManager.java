@@ -20,6 +20,7 @@
 package me.moros.bending.game;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -120,6 +121,28 @@ public final class BoardManager {
     }
   }
 
+  /**
+   * Update the board once for a batch of abilities that came off cooldown.
+   * @param player the player whose board to update
+   * @param abilities the abilities that are no longer on cooldown
+   */
+  public void updateBoardSlots(@NonNull Player player, @NonNull Collection<@NonNull AbilityDescription> abilities) {
+    if (canUseScoreboard(player)) {
+      Board board = scoreboardPlayers.get(player.getUniqueId());
+      boolean updateSlots = false;
+      for (AbilityDescription desc : abilities) {
+        if (desc.canBind()) {
+          updateSlots = true;
+        } else {
+          board.updateMisc(desc, false);
+        }
+      }
+      if (updateSlots) {
+        board.updateAll();
+      }
+    }
+  }
+
   public void changeActiveSlot(@NonNull Player player, int oldSlot, int newSlot) {
     if (canUseScoreboard(player)) {
       scoreboardPlayers.get(player.getUniqueId()).activeSlot(++oldSlot, ++newSlot);
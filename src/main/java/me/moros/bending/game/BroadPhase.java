@@ -0,0 +1,116 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import me.moros.bending.model.ability.Ability;
+import me.moros.bending.model.collision.Collider;
+import me.moros.bending.model.collision.geometry.ColliderBatch;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Sweep and prune broad phase for ability colliders.
+ * Every proxy packs all colliders of a single ability in a {@link ColliderBatch} and wraps their combined bounds.
+ * Proxies are sorted along the x axis and only pairs with overlapping bounds are reported.
+ */
+final class BroadPhase {
+  private final List<Proxy> proxies;
+
+  BroadPhase(int capacity) {
+    proxies = new ArrayList<>(capacity);
+  }
+
+  void add(@NonNull Ability ability, int index, @NonNull Collection<@NonNull Collider> colliders) {
+    proxies.add(new Proxy(ability, index, colliders));
+  }
+
+  int size() {
+    return proxies.size();
+  }
+
+  void forEachPair(@NonNull BiConsumer<@NonNull Proxy, @NonNull Proxy> consumer) {
+    proxies.sort(Comparator.comparingDouble(p -> p.minX));
+    int size = proxies.size();
+    for (int i = 0; i < size; i++) {
+      Proxy first = proxies.get(i);
+      for (int j = i + 1; j < size; j++) {
+        Proxy second = proxies.get(j);
+        if (second.minX > first.maxX) {
+          break;
+        }
+        if (first.overlaps(second)) {
+          consumer.accept(first, second);
+        }
+      }
+    }
+  }
+
+  static final class Proxy {
+    private final Ability ability;
+    private final int index;
+    private final ColliderBatch batch;
+    private final double minX, minY, minZ;
+    private final double maxX, maxY, maxZ;
+
+    private Proxy(Ability ability, int index, Collection<Collider> colliders) {
+      this.ability = ability;
+      this.index = index;
+      this.batch = ColliderBatch.of(colliders);
+      double x0 = Double.MAX_VALUE, y0 = Double.MAX_VALUE, z0 = Double.MAX_VALUE;
+      double x1 = -Double.MAX_VALUE, y1 = -Double.MAX_VALUE, z1 = -Double.MAX_VALUE;
+      for (int i = 0; i < batch.size(); i++) {
+        x0 = Math.min(x0, batch.minX(i));
+        y0 = Math.min(y0, batch.minY(i));
+        z0 = Math.min(z0, batch.minZ(i));
+        x1 = Math.max(x1, batch.maxX(i));
+        y1 = Math.max(y1, batch.maxY(i));
+        z1 = Math.max(z1, batch.maxZ(i));
+      }
+      minX = x0;
+      minY = y0;
+      minZ = z0;
+      maxX = x1;
+      maxY = y1;
+      maxZ = z1;
+    }
+
+    @NonNull Ability ability() {
+      return ability;
+    }
+
+    int index() {
+      return index;
+    }
+
+    @NonNull ColliderBatch colliders() {
+      return batch;
+    }
+
+    private boolean overlaps(Proxy other) {
+      return maxX >= other.minX && minX <= other.maxX && maxY >= other.minY && minY <= other.maxY
+        && maxZ >= other.minZ && minZ <= other.maxZ;
+    }
+  }
+}
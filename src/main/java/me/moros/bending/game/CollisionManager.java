@@ -20,77 +20,94 @@
 package me.moros.bending.game;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.HashSet;
+import java.util.Set;
 
+import me.moros.bending.game.BroadPhase.Proxy;
 import me.moros.bending.model.AbilityManager;
 import me.moros.bending.model.ability.Ability;
-import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.collision.Collider;
 import me.moros.bending.model.collision.Collision;
-import me.moros.bending.model.collision.RegisteredCollision;
+import me.moros.bending.model.collision.geometry.ColliderBatch;
+import me.moros.bending.profiler.Profiler;
+import me.moros.bending.registry.CollisionRegistry;
 import me.moros.bending.registry.Registries;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-// TODO implement BVH and profile
 public final class CollisionManager {
   private final AbilityManager manager;
+  private final CollisionRegistry registry;
+
+  private int candidates;
+  private int hits;
 
   CollisionManager(@NonNull AbilityManager manager) {
+    this(manager, Registries.COLLISIONS);
+  }
+
+  CollisionManager(@NonNull AbilityManager manager, @NonNull CollisionRegistry registry) {
     this.manager = manager;
+    this.registry = registry;
   }
 
   public void update() {
-    Collection<Ability> instances = manager.instances().filter(ability -> !ability.colliders().isEmpty())
-      .collect(Collectors.toList());
-    if (instances.size() < 2) {
+    if (manager.size() < 2) {
       return;
     }
-    Map<Ability, Collection<Collider>> colliderCache = new HashMap<>(instances.size());
-    Map<AbilityDescription, Collection<Ability>> abilityCache = new HashMap<>(32);
-    for (RegisteredCollision registeredCollision : Registries.COLLISIONS) {
-      Collection<Ability> firstAbilities = abilityCache.computeIfAbsent(registeredCollision.first(), desc ->
-        instances.stream().filter(ability -> ability.description().equals(desc)).collect(Collectors.toList())
-      );
-      Collection<Ability> secondAbilities = abilityCache.computeIfAbsent(registeredCollision.second(), desc ->
-        instances.stream().filter(ability -> ability.description().equals(desc)).collect(Collectors.toList())
-      );
-      for (Ability first : firstAbilities) {
-        Collection<Collider> firstColliders = colliderCache.computeIfAbsent(first, Ability::colliders);
-        if (firstColliders.isEmpty()) {
-          continue;
-        }
-        for (Ability second : secondAbilities) {
-          if (first.user().equals(second.user())) {
-            continue;
-          }
-          Collection<Collider> secondColliders = colliderCache.computeIfAbsent(second, Ability::colliders);
-          if (secondColliders.isEmpty()) {
-            continue;
-          }
-          Map.Entry<Collider, Collider> collisionResult = checkCollision(firstColliders, secondColliders);
-          if (collisionResult != null) {
-            handleCollision(first, second, collisionResult.getKey(), collisionResult.getValue(), registeredCollision);
-          }
+    long start = Profiler.INSTANCE.start();
+    BroadPhase broadPhase = new BroadPhase(manager.size());
+    int size = registry.size();
+    for (int i = 0; i < size; i++) {
+      int index = i;
+      manager.instances(registry.description(index)).forEach(ability -> {
+        Collection<Collider> colliders = ability.colliders();
+        if (!colliders.isEmpty()) {
+          broadPhase.add(ability, index, colliders);
         }
-      }
+      });
+    }
+    if (broadPhase.size() < 2) {
+      return;
     }
+    Set<Ability> removed = new HashSet<>();
+    candidates = 0;
+    hits = 0;
+    broadPhase.forEachPair((p1, p2) -> checkPair(p1, p2, removed));
+    Profiler.INSTANCE.recordCollisionPhase(start, candidates, hits);
   }
 
-  private Map.Entry<Collider, Collider> checkCollision(Collection<Collider> firstColliders, Collection<Collider> secondColliders) {
-    for (Collider firstCollider : firstColliders) {
-      for (Collider secondCollider : secondColliders) {
-        if (firstCollider.intersects(secondCollider)) {
-          return Map.entry(firstCollider, secondCollider);
-        }
+  private void checkPair(Proxy first, Proxy second, Set<Ability> removed) {
+    Ability a1 = first.ability();
+    Ability a2 = second.ability();
+    if (a1.user().equals(a2.user()) || removed.contains(a1) || removed.contains(a2)) {
+      return;
+    }
+    int flags = registry.flags(first.index(), second.index());
+    if ((flags & CollisionRegistry.COLLIDES) == 0) {
+      return;
+    }
+    candidates++;
+    ColliderBatch firstColliders = first.colliders();
+    ColliderBatch secondColliders = second.colliders();
+    long collisionResult = firstColliders.firstIntersection(secondColliders);
+    if (collisionResult >= 0) {
+      hits++;
+      boolean removeFirst = (flags & CollisionRegistry.REMOVE_FIRST) != 0;
+      boolean removeSecond = (flags & CollisionRegistry.REMOVE_SECOND) != 0;
+      Collider c1 = firstColliders.collider((int) (collisionResult >>> 32));
+      Collider c2 = secondColliders.collider((int) collisionResult);
+      Collision.CollisionData data = handleCollision(a1, a2, c1, c2, removeFirst, removeSecond);
+      if (data.removeFirst()) {
+        removed.add(a1);
+      }
+      if (data.removeSecond()) {
+        removed.add(a2);
       }
     }
-    return null;
   }
 
-  private void handleCollision(Ability first, Ability second, Collider c1, Collider c2, RegisteredCollision rc) {
-    Collision.CollisionData data = new Collision.CollisionData(first, second, c1, c2, rc.removeFirst(), rc.removeSecond());
+  private Collision.CollisionData handleCollision(Ability first, Ability second, Collider c1, Collider c2, boolean removeFirst, boolean removeSecond) {
+    Collision.CollisionData data = new Collision.CollisionData(first, second, c1, c2, removeFirst, removeSecond);
     first.onCollision(data.asCollision());
     second.onCollision(data.asInverseCollision());
     if (data.removeFirst()) {
@@ -99,5 +116,6 @@ public final class CollisionManager {
     if (data.removeSecond()) {
       manager.destroyInstance(second);
     }
+    return data;
   }
 }
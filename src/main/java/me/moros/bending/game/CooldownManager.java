@@ -0,0 +1,132 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import me.moros.bending.Bending;
+import me.moros.bending.model.ability.description.AbilityDescription;
+import me.moros.bending.model.math.FastMath;
+import me.moros.bending.model.temporal.Temporary;
+import me.moros.bending.model.temporal.TimerWheel;
+import me.moros.bending.model.user.User;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Central tick driven cooldown service.
+ * Each user holds a {@link Table} of expiry ticks indexed by {@link AbilityDescription#id()} and all expirations
+ * are handled on the main thread by a {@link TimerWheel} owned by this manager, separate from the wheels of the temporal managers.
+ * Cooldowns that expire during the same tick are batched per user before posting events and updating boards.
+ */
+public enum CooldownManager {
+  INSTANCE;
+
+  private final TimerWheel wheel = new TimerWheel();
+  private final Map<User, Collection<AbilityDescription>> expired = new LinkedHashMap<>();
+  private long currentTick = 0;
+
+  /**
+   * Create a new cooldown table for the specified user.
+   * @param user the user that owns the table
+   * @return the new table
+   */
+  public @NonNull Table createTable(@NonNull User user) {
+    return new Table(user);
+  }
+
+  /**
+   * Advance all cooldowns by a single tick. This must be called on the main thread.
+   */
+  public void tick() {
+    wheel.advance(Integer.MAX_VALUE);
+    currentTick++;
+    if (expired.isEmpty()) {
+      return;
+    }
+    for (Map.Entry<User, Collection<AbilityDescription>> entry : expired.entrySet()) {
+      User user = entry.getKey();
+      if (!user.valid()) { // Ensure user is valid before posting events
+        continue;
+      }
+      for (AbilityDescription desc : entry.getValue()) {
+        Bending.eventBus().postCooldownRemoveEvent(user, desc);
+      }
+      if (user.entity() instanceof Player player) {
+        Bending.game().boardManager().updateBoardSlots(player, entry.getValue());
+      }
+    }
+    expired.clear();
+  }
+
+  /**
+   * Holds the cooldown expiry ticks for a single user.
+   */
+  public final class Table {
+    private final User user;
+    private long[] expiry;
+
+    private Table(User user) {
+      this.user = user;
+      expiry = new long[16];
+    }
+
+    /**
+     * @param desc the ability to check
+     * @return true if the ability is on cooldown, false otherwise
+     */
+    public boolean onCooldown(@NonNull AbilityDescription desc) {
+      int id = desc.id();
+      return id < expiry.length && expiry[id] > currentTick;
+    }
+
+    /**
+     * Put an ability on cooldown. If the ability is already on a longer cooldown then this has no effect.
+     * @param desc the ability to put on cooldown
+     * @param duration the duration of the cooldown in milliseconds
+     */
+    public void add(@NonNull AbilityDescription desc, long duration) {
+      int id = desc.id();
+      if (id >= expiry.length) {
+        expiry = Arrays.copyOf(expiry, Math.max(id + 1, 2 * expiry.length));
+      }
+      int ticks = Math.max(1, FastMath.ceil(duration / 50.0));
+      long tick = currentTick + ticks;
+      if (tick > expiry[id]) {
+        expiry[id] = tick;
+        wheel.schedule(new Expiration(this, desc, tick), ticks);
+      }
+    }
+  }
+
+  private record Expiration(Table table, AbilityDescription desc, long tick) implements Temporary {
+    @Override
+    public void revert() {
+      // Ignore stale expirations that were superseded by a longer cooldown
+      if (table.expiry[desc.id()] == tick) {
+        INSTANCE.expired.computeIfAbsent(table.user, u -> new ArrayList<>()).add(desc);
+      }
+    }
+  }
+}
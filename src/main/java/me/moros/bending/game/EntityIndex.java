@@ -0,0 +1,283 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import me.moros.bending.model.math.FastMath;
+import me.moros.bending.model.math.Vector3d;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A per tick snapshot of all living entities in a world stored in a spatial hash.
+ * Every entity is stored in the cell that contains the minimum corner of its bounding box.
+ * Queries are expanded by the largest entity size so every overlapping entity is found.
+ * The snapshot is built at the start of the world's update pass and is only valid until the pass ends, entities added
+ * to the world in the meantime are appended to it. Outside the pass it is not exposed, see {@link WorldManager#entityIndex(World)}.
+ * This class is not thread-safe and must only be used on the main thread.
+ */
+public final class EntityIndex {
+  private static final int CELL_SHIFT = 2; // 4x4x4 cells
+  private static final double MARGIN = 1; // Allowance for entities that were teleported after the snapshot was taken
+  private static final long EMPTY = -1;
+
+  private final World world;
+
+  private LivingEntity[] entities;
+  private double[] bounds;
+  private int[] next;
+  private long[] keys;
+  private int[] heads;
+  private int size;
+  private double maxWidth;
+  private double maxHeight;
+  private boolean active;
+
+  EntityIndex(@NonNull World world) {
+    this.world = world;
+    entities = new LivingEntity[64];
+    bounds = new double[64 * 6];
+    next = new int[64];
+    keys = new long[128];
+    heads = new int[128];
+  }
+
+  /**
+   * Take a new snapshot of the world's living entities, called at the start of the update pass.
+   */
+  void begin() {
+    build();
+    active = true;
+  }
+
+  /**
+   * Release the snapshot, called at the end of the update pass.
+   */
+  void end() {
+    active = false;
+    Arrays.fill(entities, 0, size, null);
+    size = 0;
+  }
+
+  boolean active() {
+    return active;
+  }
+
+  private void build() {
+    List<LivingEntity> living = world.getLivingEntities();
+    int count = living.size();
+    if (entities.length < count) {
+      int capacity = Math.max(count, entities.length << 1);
+      entities = new LivingEntity[capacity];
+      bounds = new double[capacity * 6];
+      next = new int[capacity];
+    } else if (count < size) {
+      Arrays.fill(entities, count, size, null);
+    }
+    int tableSize = Integer.highestOneBit(Math.max(count, 32) * 2 - 1) << 1;
+    if (keys.length != tableSize) {
+      keys = new long[tableSize];
+      heads = new int[tableSize];
+    }
+    Arrays.fill(keys, EMPTY);
+    size = 0;
+    maxWidth = 0;
+    maxHeight = 0;
+    for (LivingEntity entity : living) {
+      insert(entity);
+    }
+  }
+
+  /**
+   * Add an entity that joined the world after the current snapshot was taken.
+   * If the snapshot is full it is rebuilt instead, which includes the entity.
+   * @param entity the living entity that was added to the world
+   */
+  public void add(@NonNull LivingEntity entity) {
+    if (!active) {
+      return; // The next snapshot will include it
+    }
+    if (size < entities.length && (size + 1) << 1 <= keys.length) {
+      insert(entity);
+    } else {
+      build();
+    }
+  }
+
+  private void insert(LivingEntity entity) {
+    BoundingBox box = entity.getBoundingBox();
+    int index = size++;
+    int offset = index * 6;
+    entities[index] = entity;
+    bounds[offset] = box.getMinX();
+    bounds[offset + 1] = box.getMinY();
+    bounds[offset + 2] = box.getMinZ();
+    bounds[offset + 3] = box.getMaxX();
+    bounds[offset + 4] = box.getMaxY();
+    bounds[offset + 5] = box.getMaxZ();
+    maxWidth = Math.max(maxWidth, Math.max(box.getWidthX(), box.getWidthZ()));
+    maxHeight = Math.max(maxHeight, box.getHeight());
+    long key = pack(cell(box.getMinX()), cell(box.getMinY()), cell(box.getMinZ()));
+    int slot = slot(key);
+    if (keys[slot] == EMPTY) {
+      keys[slot] = key;
+      next[index] = -1;
+    } else {
+      next[index] = heads[slot];
+    }
+    heads[slot] = index;
+  }
+
+  private int slot(long key) {
+    int mask = keys.length - 1;
+    int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+    while (keys[slot] != EMPTY && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Collect all valid living entities whose bounds overlap the specified box.
+   * @param center the center of the box
+   * @param halfExtents the half extents of the box
+   * @return a list of all living entities that overlap the box
+   */
+  public @NonNull List<@NonNull LivingEntity> nearby(@NonNull Vector3d center, @NonNull Vector3d halfExtents) {
+    List<LivingEntity> result = new ArrayList<>();
+    Vector3d min = center.subtract(halfExtents);
+    Vector3d max = center.add(halfExtents);
+    query(min, max, (index, entity) -> {
+      int offset = index * 6;
+      if (bounds[offset] <= max.getX() + MARGIN && bounds[offset + 3] >= min.getX() - MARGIN &&
+        bounds[offset + 1] <= max.getY() + MARGIN && bounds[offset + 4] >= min.getY() - MARGIN &&
+        bounds[offset + 2] <= max.getZ() + MARGIN && bounds[offset + 5] >= min.getZ() - MARGIN) {
+        result.add(entity);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Find the closest living entity that intersects the specified ray.
+   * @param origin the origin of the ray
+   * @param direction the normalized direction of the ray
+   * @param range the maximum range of the ray
+   * @param raySize the amount by which each entity's bounds are expanded
+   * @param filter the entity filter
+   * @return the result or null if no entity was hit
+   */
+  public @Nullable EntityHit rayTrace(@NonNull Vector3d origin, @NonNull Vector3d direction, double range, double raySize, @NonNull Predicate<? super LivingEntity> filter) {
+    Vector3d end = origin.add(direction.multiply(range));
+    Vector3d grow = new Vector3d(raySize, raySize, raySize);
+    Vector3d min = origin.min(end).subtract(grow);
+    Vector3d max = origin.max(end).add(grow);
+    double[] closest = {Double.MAX_VALUE};
+    LivingEntity[] hit = {null};
+    query(min, max, (index, entity) -> {
+      if (filter.test(entity)) {
+        double distance = intersect(origin, direction, entity.getBoundingBox().expand(raySize));
+        if (distance >= 0 && distance <= range && distance < closest[0]) {
+          closest[0] = distance;
+          hit[0] = entity;
+        }
+      }
+    });
+    return hit[0] == null ? null : new EntityHit(hit[0], origin.add(direction.multiply(closest[0])), closest[0]);
+  }
+
+  private void query(Vector3d min, Vector3d max, CellVisitor visitor) {
+    if (size == 0) {
+      return;
+    }
+    int minX = cell(min.getX() - maxWidth - MARGIN);
+    int minY = cell(min.getY() - maxHeight - MARGIN);
+    int minZ = cell(min.getZ() - maxWidth - MARGIN);
+    int maxX = cell(max.getX() + MARGIN);
+    int maxY = cell(max.getY() + MARGIN);
+    int maxZ = cell(max.getZ() + MARGIN);
+    for (int x = minX; x <= maxX; x++) {
+      for (int y = minY; y <= maxY; y++) {
+        for (int z = minZ; z <= maxZ; z++) {
+          int slot = slot(pack(x, y, z));
+          if (keys[slot] == EMPTY) {
+            continue;
+          }
+          for (int index = heads[slot]; index >= 0; index = next[index]) {
+            LivingEntity entity = entities[index];
+            if (entity.isValid()) {
+              visitor.visit(index, entity);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  // Slab test, returns the distance along the ray to the entry point or -1 if there is no intersection
+  private static double intersect(Vector3d origin, Vector3d dir, BoundingBox box) {
+    double tMin = 0;
+    double tMax = Double.MAX_VALUE;
+    double[] o = {origin.getX(), origin.getY(), origin.getZ()};
+    double[] d = {dir.getX(), dir.getY(), dir.getZ()};
+    double[] bMin = {box.getMinX(), box.getMinY(), box.getMinZ()};
+    double[] bMax = {box.getMaxX(), box.getMaxY(), box.getMaxZ()};
+    for (int i = 0; i < 3; i++) {
+      if (d[i] == 0) {
+        if (o[i] < bMin[i] || o[i] > bMax[i]) {
+          return -1;
+        }
+        continue;
+      }
+      double inv = 1 / d[i];
+      double t0 = (bMin[i] - o[i]) * inv;
+      double t1 = (bMax[i] - o[i]) * inv;
+      tMin = Math.max(tMin, Math.min(t0, t1));
+      tMax = Math.min(tMax, Math.max(t0, t1));
+      if (tMin > tMax) {
+        return -1;
+      }
+    }
+    return tMin;
+  }
+
+  private static int cell(double value) {
+    return FastMath.floor(value) >> CELL_SHIFT;
+  }
+
+  private static long pack(int x, int y, int z) {
+    return ((x & 0x1FFFFFL) << 42) | ((y & 0x1FFFFFL) << 21) | (z & 0x1FFFFFL);
+  }
+
+  @FunctionalInterface
+  private interface CellVisitor {
+    void visit(int index, LivingEntity entity);
+  }
+
+  public record EntityHit(@NonNull LivingEntity entity, @NonNull Vector3d position, double distance) {
+  }
+}
@@ -29,10 +29,12 @@ import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.game.temporal.TempFallingBlock;
 import me.moros.bending.model.AbilityManager;
 import me.moros.bending.model.Element;
+import me.moros.bending.profiler.Profiler;
 import me.moros.bending.registry.Registries;
 import me.moros.bending.storage.BendingStorage;
 import me.moros.bending.util.BendingEffect;
 import me.moros.bending.util.MovementHandler;
+import me.moros.bending.util.ParticleBuffer;
 import me.moros.bending.util.Tasker;
 import org.bukkit.World;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -51,6 +53,8 @@ public final class Game {
   private final ActivationController activationController;
   private final BoardManager boardManager;
 
+  private int revertBudget;
+
   public Game(@NonNull BendingStorage storage) {
     this.storage = storage;
 
@@ -63,6 +67,10 @@ public final class Game {
 
     new AbilityInitializer();
     loadStorage();
+    loadRevertBudget();
+    Profiler.INSTANCE.reload();
+    ParticleBuffer.INSTANCE.reload();
+    QualityGovernor.INSTANCE.reload();
 
     TempArmor.init();
     TempBlock.init();
@@ -78,8 +86,24 @@ public final class Game {
 
   private void update() {
     activationController.clearCache();
+    CooldownManager.INSTANCE.tick();
+    // Temporaries advance first so anything scheduled later in this tick, by abilities or events, reverts exactly on time
+    updateTemporary();
     worldManager.update();
     flightManager.update();
+    // Flushed after abilities so blocks written this tick reach the light engine and clients before the worlds tick
+    TempBlock.flushUpdates();
+  }
+
+  private void updateTemporary() {
+    TempArmor.MANAGER.tick(revertBudget);
+    TempBlock.MANAGER.tick(revertBudget);
+    TempArmorStand.MANAGER.tick(revertBudget);
+    TempFallingBlock.MANAGER.tick(revertBudget);
+  }
+
+  private void loadRevertBudget() {
+    revertBudget = Math.max(1, Bending.configManager().config().node("properties", "revert-budget").getInt(1024));
   }
 
   public boolean isDisabledWorld(@NonNull UUID worldID) {
@@ -90,6 +114,10 @@ public final class Game {
     cleanup(false);
     Bending.configManager().reload();
     Bending.translationManager().reload();
+    loadRevertBudget();
+    Profiler.INSTANCE.reload();
+    ParticleBuffer.INSTANCE.reload();
+    QualityGovernor.INSTANCE.reload();
     Registries.BENDERS.forEach(worldManager::createPassives);
   }
 
@@ -102,6 +130,7 @@ public final class Game {
 
     if (shutdown) {
       Registries.BENDERS.onlinePlayers().forEach(storage::savePlayerAsync);
+      Profiler.INSTANCE.shutdown();
       Tasker.INSTANCE.shutdown();
       storage.close();
     }
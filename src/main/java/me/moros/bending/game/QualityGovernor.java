@@ -0,0 +1,138 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import me.moros.atlas.configurate.CommentedConfigurationNode;
+import me.moros.bending.Bending;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Watches the tick duration and lowers visual fidelity in configurable steps when the server is under load.
+ * Abilities may only use the current {@link Level} to reduce cosmetic work such as particles, sounds and visual blocks,
+ * damage and collision checks must run the same at every level.
+ */
+public enum QualityGovernor {
+  INSTANCE;
+
+  public static final Level FULL = new Level(0, 0, 1, true);
+
+  // Smoothing factor for the moving average of the tick duration
+  private static final double ALPHA = 0.1;
+  // Minimum ticks between two consecutive degrade steps
+  private static final int DEGRADE_COOLDOWN = 20;
+
+  private volatile Level level = FULL;
+  private List<Level> levels = List.of(FULL);
+  private boolean enabled;
+  private double hysteresis;
+  private int recoverTicks;
+
+  private double average;
+  private int ticksSinceChange;
+  private int ticksBelow;
+
+  public void reload() {
+    CommentedConfigurationNode node = Bending.configManager().config().node("properties", "quality");
+    enabled = node.node("enabled").getBoolean(true);
+    hysteresis = Math.max(0, node.node("hysteresis").getDouble(3));
+    recoverTicks = Math.max(1, node.node("recover-ticks").getInt(100));
+    List<Level> result = new ArrayList<>();
+    result.add(FULL);
+    CommentedConfigurationNode levelsNode = node.node("levels");
+    if (levelsNode.virtual()) {
+      result.add(new Level(1, 45, 0.75, true));
+      result.add(new Level(2, 50, 0.5, true));
+      result.add(new Level(3, 55, 0.25, false));
+    } else {
+      for (CommentedConfigurationNode child : levelsNode.childrenList()) {
+        double mspt = child.node("mspt").getDouble(50);
+        if (mspt > result.get(result.size() - 1).mspt()) {
+          double particles = Math.min(1, Math.max(0, child.node("particle-density").getDouble(1)));
+          boolean visualBlocks = child.node("visual-blocks").getBoolean(true);
+          result.add(new Level(result.size(), mspt, particles, visualBlocks));
+        }
+      }
+    }
+    levels = List.copyOf(result);
+    level = FULL;
+    average = 0;
+    ticksSinceChange = 0;
+    ticksBelow = 0;
+  }
+
+  /**
+   * Update the governor with the duration of the last tick, must be called once per tick on the main thread.
+   * @param tickMillis the duration of the last tick in milliseconds
+   */
+  public void onTick(double tickMillis) {
+    if (!enabled) {
+      return;
+    }
+    average += ALPHA * (tickMillis - average);
+    ticksSinceChange++;
+    Level current = level;
+    int index = current.index();
+    if (index + 1 < levels.size() && average >= levels.get(index + 1).mspt()) {
+      ticksBelow = 0;
+      if (ticksSinceChange >= DEGRADE_COOLDOWN) {
+        change(levels.get(index + 1));
+      }
+    } else if (index > 0 && average < current.mspt() - hysteresis) {
+      if (++ticksBelow >= recoverTicks) {
+        change(levels.get(index - 1));
+      }
+    } else {
+      ticksBelow = 0;
+    }
+  }
+
+  private void change(Level newLevel) {
+    level = newLevel;
+    ticksSinceChange = 0;
+    ticksBelow = 0;
+  }
+
+  /**
+   * @return the current quality level, {@link #FULL} when the server isn't under load
+   */
+  public @NonNull Level level() {
+    return level;
+  }
+
+  /**
+   * @return the fraction of particles that should be spawned, in the range [0, 1]
+   */
+  public double particleDensity() {
+    return level.particleDensity();
+  }
+
+  /**
+   * @return whether purely cosmetic temporary blocks should be placed
+   */
+  public boolean visualBlocks() {
+    return level.visualBlocks();
+  }
+
+  public record Level(int index, double mspt, double particleDensity, boolean visualBlocks) {
+  }
+}
@@ -20,9 +20,6 @@
 package me.moros.bending.game;
 
 import java.time.Duration;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,13 +30,13 @@ import me.moros.bending.model.ability.Ability;
 import me.moros.bending.model.ability.Activation;
 import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.ability.description.AbilityDescription.Sequence;
-import me.moros.bending.model.ability.description.SequenceStep;
 import me.moros.bending.model.user.User;
 import me.moros.bending.registry.Registries;
+import me.moros.bending.registry.SequenceAutomaton;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public final class SequenceManager {
-  private final Cache<UUID, Deque<SequenceStep>> cache;
+  private final Cache<UUID, MatchState> cache;
 
   SequenceManager() {
     cache = Caffeine.newBuilder()
@@ -56,24 +53,31 @@ public final class SequenceManager {
     if (desc == null) {
       return;
     }
-    Deque<SequenceStep> buffer = cache.get(user.entity().getUniqueId(), u -> new ArrayDeque<>(16));
-    if (buffer.size() >= 16) {
-      buffer.removeFirst();
+    SequenceAutomaton automaton = Registries.SEQUENCES.automaton();
+    MatchState match = cache.get(user.entity().getUniqueId(), u -> new MatchState());
+    if (match.automaton != automaton) {
+      match.automaton = automaton;
+      match.state = SequenceAutomaton.START;
     }
-    buffer.addLast(new SequenceStep(desc, action));
-    List<SequenceStep> bufferSteps = new ArrayList<>(buffer);
-    for (Sequence sequence : Registries.SEQUENCES) {
-      if (sequence.matches(bufferSteps)) {
-        if (!user.canBend(sequence)) {
-          continue;
-        }
-        Ability ability = sequence.createAbility();
-        if (ability.activate(user, Activation.SEQUENCE)) {
-          Bending.game().abilityManager(user.world()).addAbility(user, ability);
-        }
-        buffer.clear(); // Consume all actions in the buffer
-        return;
+    match.state = automaton.next(match.state, desc, action);
+    List<Sequence> matches = automaton.matches(match.state);
+    for (int i = 0; i < matches.size(); i++) {
+      Sequence sequence = matches.get(i);
+      if (!user.canBend(sequence)) {
+        continue;
       }
+      Ability ability = sequence.createAbility();
+      if (ability.activate(user, Activation.SEQUENCE)) {
+        Bending.game().abilityManager(user.world()).addAbility(user, ability);
+      }
+      match.state = SequenceAutomaton.START; // Consume all performed steps
+      return;
     }
   }
+
+  // The user's progress in the automaton, it is reset if the automaton is rebuilt
+  private static final class MatchState {
+    private SequenceAutomaton automaton;
+    private int state = SequenceAutomaton.START;
+  }
 }
@@ -33,9 +33,12 @@ import me.moros.atlas.configurate.serialize.SerializationException;
 import me.moros.bending.Bending;
 import me.moros.bending.model.AbilityManager;
 import me.moros.bending.model.user.User;
+import me.moros.bending.util.material.BlockStateCache;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class WorldManager {
   public static final AbilityManager DUMMY_INSTANCE = new DummyAbilityManager();
@@ -54,21 +57,44 @@ public final class WorldManager {
     disabledWorlds = worldNames.stream().map(Bukkit::getWorld).filter(Objects::nonNull).map(World::getUID)
       .collect(Collectors.toSet());
     worlds = Bukkit.getWorlds().stream().filter(w -> !isDisabledWorld(w.getUID()))
-      .collect(Collectors.toConcurrentMap(Function.identity(), w -> new ManagerPair()));
+      .collect(Collectors.toConcurrentMap(Function.identity(), ManagerPair::new));
   }
 
   public @NonNull AbilityManager instance(@NonNull World world) {
     if (isDisabledWorld(world.getUID())) {
       return DUMMY_INSTANCE;
     }
-    return worlds.computeIfAbsent(world, w -> new ManagerPair()).abilities;
+    return worlds.computeIfAbsent(world, ManagerPair::new).abilities;
+  }
+
+  /**
+   * The index is only available while the world's abilities and collisions are being updated, queries outside that
+   * pass, such as from event handlers, should query the world directly.
+   * @param world the world to check
+   * @return the living entity index for the specified world or null if it isn't being updated
+   */
+  public @Nullable EntityIndex entityIndex(@NonNull World world) {
+    ManagerPair pair = worlds.get(world);
+    return pair != null && pair.entities.active() ? pair.entities : null;
   }
 
   public void update() {
-    for (Map.Entry<World, ManagerPair> entry : worlds.entrySet()) {
-      MCTiming timing = Bending.timingManager().ofStart(entry.getKey().getName() + " - tick");
-      entry.getValue().update();
-      timing.stopTiming();
+    BlockStateCache.INSTANCE.begin();
+    try {
+      for (Map.Entry<World, ManagerPair> entry : worlds.entrySet()) {
+        MCTiming timing = Bending.timingManager().ofStart(entry.getKey().getName() + " - tick");
+        entry.getValue().update();
+        timing.stopTiming();
+      }
+    } finally {
+      BlockStateCache.INSTANCE.end();
+    }
+  }
+
+  public void onEntityAdd(@NonNull LivingEntity entity) {
+    ManagerPair pair = worlds.get(entity.getWorld());
+    if (pair != null) {
+      pair.entities.add(entity);
     }
   }
 
@@ -95,15 +121,22 @@ public final class WorldManager {
   private static class ManagerPair {
     private final AbilityManager abilities;
     private final CollisionManager collisions;
+    private final EntityIndex entities;
 
-    private ManagerPair() {
+    private ManagerPair(World world) {
       abilities = new AbilityManagerImpl();
       collisions = new CollisionManager(abilities);
+      entities = new EntityIndex(world);
     }
 
     private void update() {
-      abilities.update();
-      collisions.update();
+      entities.begin();
+      try {
+        abilities.update();
+        collisions.update();
+      } finally {
+        entities.end();
+      }
     }
   }
 
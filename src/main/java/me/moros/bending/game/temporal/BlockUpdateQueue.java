@@ -0,0 +1,157 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game.temporal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import me.moros.bending.util.material.BlockStateCache;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.TileState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.craftbukkit.v1_17_R1.CraftWorld;
+import org.bukkit.craftbukkit.v1_17_R1.block.data.CraftBlockData;
+
+/**
+ * Batches the side effects of temporary block writes.
+ * Block states are written into the chunk immediately so reads in the same tick see the new data. Point of interest
+ * and neighbour shape updates also run immediately, like {@code level.setBlock(pos, state, 2)}, so neighbours and
+ * villager poi are never observed in a stale state.
+ * Light checks and client notifications are grouped by chunk section and applied once per tick, updates of sections
+ * whose chunk has unloaded in the meantime are dropped.
+ * Reverts in unloaded chunks are grouped by chunk and applied with a single chunk load.
+ */
+final class BlockUpdateQueue {
+  private static final int UPDATE_FLAGS = 2; // Shape updates without physics
+  private static final int UPDATE_DEPTH = 511;
+
+  private final Map<ServerLevel, Map<Long, Map<Long, BlockState>>> dirtySections;
+  private final Map<World, Map<Long, Collection<org.bukkit.block.BlockState>>> pendingReverts;
+
+  BlockUpdateQueue() {
+    dirtySections = new LinkedHashMap<>();
+    pendingReverts = new LinkedHashMap<>();
+  }
+
+  /**
+   * Write the block data directly into its chunk section and queue the side effects.
+   * @return true if the block changed, false otherwise
+   */
+  boolean write(Block block, BlockData data) {
+    ServerLevel level = ((CraftWorld) block.getWorld()).getHandle();
+    LevelChunk chunk = level.getChunkIfLoaded(block.getX() >> 4, block.getZ() >> 4);
+    if (chunk == null) {
+      return false;
+    }
+    BlockPos pos = new BlockPos(block.getX(), block.getY(), block.getZ());
+    if (level.isOutsideBuildHeight(pos)) {
+      return false;
+    }
+    BlockState current = ((CraftBlockData) data).getState();
+    BlockState previous = chunk.setBlockState(pos, current, false);
+    BlockStateCache.INSTANCE.invalidate(block);
+    if (previous == null) {
+      return false;
+    }
+    level.onBlockStateChange(pos, previous, current);
+    previous.updateIndirectNeighbourShapes(level, pos, UPDATE_FLAGS, UPDATE_DEPTH);
+    current.updateNeighbourShapes(level, pos, UPDATE_FLAGS, UPDATE_DEPTH);
+    current.updateIndirectNeighbourShapes(level, pos, UPDATE_FLAGS, UPDATE_DEPTH);
+    dirtySections.computeIfAbsent(level, l -> new LinkedHashMap<>())
+      .computeIfAbsent(SectionPos.asLong(pos), k -> new HashMap<>())
+      .putIfAbsent(pos.asLong(), previous);
+    return true;
+  }
+
+  /**
+   * Restore a block snapshot. Snapshots in unloaded chunks are deferred until the next flush.
+   */
+  void revert(Block block, org.bukkit.block.BlockState state) {
+    World world = block.getWorld();
+    if (!world.isChunkLoaded(block.getX() >> 4, block.getZ() >> 4)) {
+      pendingReverts.computeIfAbsent(world, w -> new LinkedHashMap<>())
+        .computeIfAbsent(ChunkPos.asLong(block.getX() >> 4, block.getZ() >> 4), k -> new ArrayList<>())
+        .add(state);
+      return;
+    }
+    if (state instanceof TileState) {
+      state.update(true, false);
+      BlockStateCache.INSTANCE.invalidate(block);
+    } else {
+      write(block, state.getBlockData());
+    }
+  }
+
+  void flush() {
+    if (!pendingReverts.isEmpty()) {
+      for (Map.Entry<World, Map<Long, Collection<org.bukkit.block.BlockState>>> entry : pendingReverts.entrySet()) {
+        World world = entry.getKey();
+        for (Map.Entry<Long, Collection<org.bukkit.block.BlockState>> chunkEntry : entry.getValue().entrySet()) {
+          long key = chunkEntry.getKey();
+          Collection<org.bukkit.block.BlockState> states = chunkEntry.getValue();
+          world.getChunkAtAsync(ChunkPos.getX(key), ChunkPos.getZ(key)).thenRun(() -> states.forEach(s -> s.update(true, false)));
+        }
+      }
+      pendingReverts.clear();
+    }
+    if (dirtySections.isEmpty()) {
+      return;
+    }
+    for (Map.Entry<ServerLevel, Map<Long, Map<Long, BlockState>>> entry : dirtySections.entrySet()) {
+      ServerLevel level = entry.getKey();
+      for (Map.Entry<Long, Map<Long, BlockState>> section : entry.getValue().entrySet()) {
+        long key = section.getKey();
+        LevelChunk chunk = level.getChunkIfLoaded(SectionPos.x(key), SectionPos.z(key));
+        if (chunk == null) {
+          continue; // Unloaded since the write, clients and light get the saved state when it loads again
+        }
+        for (Map.Entry<Long, BlockState> blockEntry : section.getValue().entrySet()) {
+          BlockPos pos = BlockPos.of(blockEntry.getKey());
+          BlockState previous = blockEntry.getValue();
+          BlockState current = chunk.getBlockState(pos);
+          if (previous == current) {
+            continue; // Block was changed back within the same tick
+          }
+          if (affectsLight(level, pos, previous, current)) {
+            level.getChunkSource().getLightEngine().checkBlock(pos);
+          }
+          level.getChunkSource().blockChanged(pos);
+        }
+      }
+    }
+    dirtySections.clear();
+  }
+
+  private static boolean affectsLight(ServerLevel level, BlockPos pos, BlockState previous, BlockState current) {
+    return previous.getLightBlock(level, pos) != current.getLightBlock(level, pos)
+      || previous.getLightEmission() != current.getLightEmission()
+      || previous.useShapeForLightOcclusion() || current.useShapeForLightOcclusion();
+  }
+}
@@ -28,14 +28,13 @@ import java.util.UUID;
 
 import me.moros.bending.Bending;
 import me.moros.bending.model.temporal.TemporalManager;
+import me.moros.bending.model.temporal.TimerWheel.Timer;
 import me.moros.bending.model.temporal.Temporary;
 import me.moros.bending.model.user.User;
-import me.moros.bending.util.Tasker;
 import net.kyori.adventure.text.Component;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.scheduler.BukkitTask;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -45,7 +44,7 @@ public class TempArmor implements Temporary {
 
   private final LivingEntity entity;
   private final ItemStack[] snapshot;
-  private final BukkitTask revertTask;
+  private final Timer revertTask;
 
   public static void init() {
   }
@@ -55,7 +54,7 @@ public class TempArmor implements Temporary {
     this.snapshot = copyFilteredArmor(entity.getEquipment().getArmorContents());
     entity.getEquipment().setArmorContents(armor);
     MANAGER.addEntry(entity.getUniqueId(), this);
-    revertTask = Tasker.sync(this::revert, Temporary.toTicks(duration));
+    revertTask = MANAGER.schedule(this, Temporary.toTicks(duration));
   }
 
   public static Optional<TempArmor> create(@NonNull User user, @NonNull ItemStack[] armor, long duration) {
@@ -22,24 +22,23 @@ package me.moros.bending.game.temporal;
 import java.util.Objects;
 
 import me.moros.bending.model.temporal.TemporalManager;
+import me.moros.bending.model.temporal.TimerWheel.Timer;
 import me.moros.bending.model.temporal.Temporary;
 import me.moros.bending.util.Metadata;
 import me.moros.bending.util.ParticleUtil;
-import me.moros.bending.util.Tasker;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public class TempArmorStand implements Temporary {
   public static final TemporalManager<ArmorStand, TempArmorStand> MANAGER = new TemporalManager<>();
 
   private final ArmorStand armorStand;
-  private final BukkitTask revertTask;
+  private final Timer revertTask;
 
   public static void init() {
   }
@@ -63,7 +62,7 @@ public class TempArmorStand implements Temporary {
     }
 
     MANAGER.addEntry(armorStand, this);
-    revertTask = Tasker.sync(this::revert, Temporary.toTicks(duration));
+    revertTask = MANAGER.schedule(this, Temporary.toTicks(duration));
   }
 
   public TempArmorStand(@NonNull Location location, @NonNull Material material, long duration) {
@@ -22,17 +22,15 @@ package me.moros.bending.game.temporal;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Iterator;
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import me.moros.bending.model.temporal.TemporalManager;
+import me.moros.bending.model.temporal.TimerWheel.Timer;
 import me.moros.bending.model.temporal.Temporary;
-import me.moros.bending.util.Tasker;
+import me.moros.bending.profiler.Profiler;
 import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.methods.BlockMethods;
-import net.minecraft.core.BlockPos;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -42,27 +40,33 @@ import org.bukkit.block.TileState;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.Levelled;
 import org.bukkit.block.data.Waterlogged;
-import org.bukkit.craftbukkit.v1_17_R1.CraftWorld;
-import org.bukkit.craftbukkit.v1_17_R1.block.data.CraftBlockData;
-import org.bukkit.scheduler.BukkitTask;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class TempBlock implements Temporary {
-  private static final Set<Block> GRAVITY_CACHE = ConcurrentHashMap.newKeySet();
+  private static final BlockUpdateQueue UPDATE_QUEUE = new BlockUpdateQueue();
 
   public static final TemporalManager<Block, TempBlock> MANAGER = new TempBlockManager();
 
   private final Deque<TempBlockState> snapshots;
   private final Block block;
-  private BukkitTask revertTask;
+  private Timer revertTask;
   private boolean bendable;
+  private boolean gravity;
 
   public static void init() {
   }
 
+  /**
+   * Apply the queued light checks and client updates for blocks written since the last flush.
+   * Called once at the end of the bending tick so clients receive the changes within the same server tick.
+   */
+  public static void flushUpdates() {
+    UPDATE_QUEUE.flush();
+  }
+
   private static boolean setBlockFast(Block block, BlockData data) {
-    BlockPos position = new BlockPos(block.getX(), block.getY(), block.getZ());
-    return ((CraftWorld) block.getWorld()).getHandle().setBlock(position, ((CraftBlockData) data).getState(), 2);
+    return UPDATE_QUEUE.write(block, data);
   }
 
   private TempBlock(Block block, long duration, boolean bendable) {
@@ -120,14 +124,16 @@ public class TempBlock implements Temporary {
         return Optional.empty();
       }
       tb.addState(data, duration, bendable);
+      Profiler.INSTANCE.recordTempBlockCreated();
       return Optional.of(tb);
     }
 
     TempBlock result = new TempBlock(block, duration, bendable);
     if (setBlockFast(block, data)) {
-      refreshGravityCache(block);
+      result.refreshGravity();
       MANAGER.addEntry(block, result);
-      result.revertTask = Tasker.sync(result::revert, Temporary.toTicks(duration));
+      result.revertTask = MANAGER.schedule(result, Temporary.toTicks(duration));
+      Profiler.INSTANCE.recordTempBlockCreated();
       return Optional.of(result);
     }
     return Optional.empty();
@@ -176,9 +182,9 @@ public class TempBlock implements Temporary {
       }
       this.bendable = bendable;
       setBlockFast(block, data);
-      refreshGravityCache(block);
+      refreshGravity();
       revertTask.cancel();
-      revertTask = Tasker.sync(this::revert, Temporary.toTicks(duration));
+      revertTask = MANAGER.schedule(this, Temporary.toTicks(duration));
     }
   }
 
@@ -229,7 +235,7 @@ public class TempBlock implements Temporary {
     if (nextState != null) {
       int deltaTicks = nextState.expirationTicks - Bukkit.getCurrentTick();
       if (deltaTicks > 0) {
-        revertTask = Tasker.sync(this::revert, deltaTicks);
+        revertTask = MANAGER.schedule(this, deltaTicks);
       }
     }
   }
@@ -260,13 +266,14 @@ public class TempBlock implements Temporary {
   private void revertToSnapshot(final TempBlockState tempBlockState) {
     bendable = tempBlockState.bendable;
     BlockState state = tempBlockState.state;
-    block.getWorld().getChunkAtAsync(block).thenRun(() -> state.update(true, false));
-    refreshGravityCache(block);
+    UPDATE_QUEUE.revert(block, state);
+    refreshGravity();
+    Profiler.INSTANCE.recordTempBlockReverted();
   }
 
   private void cleanup() {
     snapshots.clear();
-    GRAVITY_CACHE.remove(block);
+    gravity = false;
     MANAGER.removeEntry(block);
     revertTask.cancel();
   }
@@ -280,7 +287,8 @@ public class TempBlock implements Temporary {
   }
 
   public static boolean shouldIgnorePhysics(@NonNull Block block) {
-    return GRAVITY_CACHE.contains(block);
+    TempBlock tb = ((TempBlockManager) MANAGER).index.get(block);
+    return tb != null && tb.gravity;
   }
 
   public static @NonNull BlockData getLastValidData(@NonNull Block block) {
@@ -294,19 +302,50 @@ public class TempBlock implements Temporary {
     return block.getBlockData();
   }
 
-  private static void refreshGravityCache(Block block) {
-    if (block.getType().hasGravity()) {
-      GRAVITY_CACHE.add(block);
-    } else {
-      GRAVITY_CACHE.remove(block);
-    }
+  private void refreshGravity() {
+    gravity = block.getType().hasGravity();
   }
 
   private static class TempBlockManager extends TemporalManager<Block, TempBlock> {
+    private final TempBlockIndex index = new TempBlockIndex();
+
+    @Override
+    public boolean isTemp(@Nullable Block key) {
+      return key != null && index.get(key) != null;
+    }
+
+    @Override
+    public Optional<TempBlock> get(@NonNull Block key) {
+      return Optional.ofNullable(index.get(key));
+    }
+
+    @Override
+    public void addEntry(@NonNull Block key, @NonNull TempBlock value) {
+      if (!isTemp(key)) {
+        index.put(key, value);
+      }
+    }
+
+    @Override
+    public void removeEntry(@NonNull Block key) {
+      index.remove(key);
+    }
+
+    @Override
+    protected @NonNull Map<Block, TempBlock> instances() {
+      return index.asMap();
+    }
+
+    @Override
+    protected void clear() {
+      index.clear();
+    }
+
     @Override
     public void removeAll() {
-      List.copyOf(instances().values()).forEach(TempBlock::revertFully);
+      index.values().forEach(TempBlock::revertFully);
       clear();
+      UPDATE_QUEUE.flush();
     }
   }
 
@@ -0,0 +1,267 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.game.temporal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.block.Block;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Per world index of temporary blocks keyed by packed block position.
+ * Each world uses a primitive open addressing map along with a hashed per chunk counter,
+ * so lookups in chunks without any temporary blocks fail without probing the map.
+ * This class is not thread-safe, like the block changes it tracks it must only be accessed from the main thread.
+ */
+final class TempBlockIndex {
+  private final Map<UUID, WorldIndex> worlds;
+  private final Map<Block, TempBlock> view;
+
+  TempBlockIndex() {
+    worlds = new HashMap<>();
+    view = new MapView();
+  }
+
+  @Nullable TempBlock get(@NonNull Block block) {
+    WorldIndex index = worlds.get(block.getWorld().getUID());
+    return index == null ? null : index.get(block.getX(), block.getY(), block.getZ());
+  }
+
+  void put(@NonNull Block block, @NonNull TempBlock value) {
+    worlds.computeIfAbsent(block.getWorld().getUID(), u -> new WorldIndex()).put(block.getX(), block.getY(), block.getZ(), value);
+  }
+
+  void remove(@NonNull Block block) {
+    WorldIndex index = worlds.get(block.getWorld().getUID());
+    if (index != null) {
+      index.remove(block.getX(), block.getY(), block.getZ());
+    }
+  }
+
+  @NonNull Collection<@NonNull TempBlock> values() {
+    Collection<TempBlock> values = new ArrayList<>();
+    for (WorldIndex index : worlds.values()) {
+      for (Object value : index.values) {
+        if (value != null) {
+          values.add((TempBlock) value);
+        }
+      }
+    }
+    return values;
+  }
+
+  /**
+   * @return an unmodifiable live view of all temporary blocks keyed by their block, it must not be iterated while the index changes
+   */
+  @NonNull Map<Block, TempBlock> asMap() {
+    return view;
+  }
+
+  void clear() {
+    worlds.clear();
+  }
+
+  private final class MapView extends AbstractMap<Block, TempBlock> {
+    private final Set<Entry<Block, TempBlock>> entries = new AbstractSet<>() {
+      @Override
+      public @NonNull Iterator<Entry<Block, TempBlock>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return MapView.this.size();
+      }
+    };
+
+    @Override
+    public @Nullable TempBlock get(Object key) {
+      return key instanceof Block block ? TempBlockIndex.this.get(block) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+      int size = 0;
+      for (WorldIndex index : worlds.values()) {
+        size += index.size;
+      }
+      return size;
+    }
+
+    @Override
+    public @NonNull Set<Entry<Block, TempBlock>> entrySet() {
+      return entries;
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Map.Entry<Block, TempBlock>> {
+    private final Iterator<WorldIndex> worldIterator = worlds.values().iterator();
+    private Object[] values = new Object[0];
+    private int position;
+    private TempBlock next = findNext();
+
+    private TempBlock findNext() {
+      while (true) {
+        while (position < values.length) {
+          Object value = values[position++];
+          if (value != null) {
+            return (TempBlock) value;
+          }
+        }
+        if (!worldIterator.hasNext()) {
+          return null;
+        }
+        values = worldIterator.next().values;
+        position = 0;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Map.Entry<Block, TempBlock> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      TempBlock result = next;
+      next = findNext();
+      return Map.entry(result.block(), result);
+    }
+  }
+
+  private static final class WorldIndex {
+    private static final int CHUNK_FILTER_SIZE = 4096;
+    private static final float LOAD_FACTOR = 0.5F;
+
+    private final int[] chunkCounts;
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    private WorldIndex() {
+      chunkCounts = new int[CHUNK_FILTER_SIZE];
+      keys = new long[64];
+      values = new Object[64];
+    }
+
+    private TempBlock get(int x, int y, int z) {
+      if (size == 0 || chunkCounts[chunkSlot(x, z)] == 0) {
+        return null;
+      }
+      int slot = find(keys, values, pack(x, y, z));
+      return (TempBlock) values[slot];
+    }
+
+    private void put(int x, int y, int z, TempBlock value) {
+      long key = pack(x, y, z);
+      int slot = find(keys, values, key);
+      if (values[slot] == null) {
+        keys[slot] = key;
+        chunkCounts[chunkSlot(x, z)]++;
+        if (++size > keys.length * LOAD_FACTOR) {
+          values[slot] = value;
+          resize();
+          return;
+        }
+      }
+      values[slot] = value;
+    }
+
+    private void remove(int x, int y, int z) {
+      if (size == 0) {
+        return;
+      }
+      int slot = find(keys, values, pack(x, y, z));
+      if (values[slot] == null) {
+        return;
+      }
+      chunkCounts[chunkSlot(x, z)]--;
+      size--;
+      // Backward shift deletion keeps probe sequences intact without tombstones
+      int mask = keys.length - 1;
+      int hole = slot;
+      int next = (hole + 1) & mask;
+      while (values[next] != null) {
+        int ideal = hash(keys[next]) & mask;
+        if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+          keys[hole] = keys[next];
+          values[hole] = values[next];
+          hole = next;
+        }
+        next = (next + 1) & mask;
+      }
+      values[hole] = null;
+    }
+
+    private void resize() {
+      long[] oldKeys = keys;
+      Object[] oldValues = values;
+      keys = new long[oldKeys.length << 1];
+      values = new Object[oldValues.length << 1];
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldValues[i] != null) {
+          int slot = find(keys, values, oldKeys[i]);
+          keys[slot] = oldKeys[i];
+          values[slot] = oldValues[i];
+        }
+      }
+    }
+
+    // Returns the slot that holds the key or the empty slot where it should be inserted
+    private static int find(long[] keys, Object[] values, long key) {
+      int mask = keys.length - 1;
+      int slot = hash(key) & mask;
+      while (values[slot] != null && keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      return slot;
+    }
+
+    private static int hash(long key) {
+      return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    private static int chunkSlot(int x, int z) {
+      return ((x >> 4) * 31 + (z >> 4)) & (CHUNK_FILTER_SIZE - 1);
+    }
+
+    private static long pack(int x, int y, int z) {
+      return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | (y & 0xFFFL);
+    }
+  }
+}
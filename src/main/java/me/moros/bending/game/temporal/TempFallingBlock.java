@@ -21,20 +21,19 @@ package me.moros.bending.game.temporal;
 
 import me.moros.bending.model.math.Vector3d;
 import me.moros.bending.model.temporal.TemporalManager;
+import me.moros.bending.model.temporal.TimerWheel.Timer;
 import me.moros.bending.model.temporal.Temporary;
-import me.moros.bending.util.Tasker;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.FallingBlock;
-import org.bukkit.scheduler.BukkitTask;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public class TempFallingBlock implements Temporary {
   public static final TemporalManager<FallingBlock, TempFallingBlock> MANAGER = new TemporalManager<>();
 
   private final FallingBlock fallingBlock;
-  private final BukkitTask revertTask;
+  private final Timer revertTask;
 
   public static void init() {
   }
@@ -45,7 +44,7 @@ public class TempFallingBlock implements Temporary {
     fallingBlock.setGravity(gravity);
     fallingBlock.setDropItem(false);
     MANAGER.addEntry(fallingBlock, this);
-    revertTask = Tasker.sync(this::revert, Temporary.toTicks(duration));
+    revertTask = MANAGER.schedule(this, Temporary.toTicks(duration));
   }
 
   public TempFallingBlock(@NonNull Location location, @NonNull BlockData data, long duration) {
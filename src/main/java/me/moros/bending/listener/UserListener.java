@@ -30,6 +30,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import co.aikar.commands.lib.timings.MCTiming;
+import com.destroystokyo.paper.event.player.PlayerJumpEvent;
 import io.papermc.paper.event.entity.EntityMoveEvent;
 import me.moros.bending.Bending;
 import me.moros.bending.ability.fire.FireShield;
@@ -73,6 +74,7 @@ import org.bukkit.event.player.PlayerItemHeldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.bukkit.event.player.PlayerToggleSprintEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
@@ -310,6 +312,16 @@ public class UserListener implements Listener {
     game.activationController().onUserSneak(Registries.BENDERS.user(event.getPlayer()), event.isSneaking());
   }
 
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onPlayerToggleSprint(PlayerToggleSprintEvent event) {
+    game.activationController().onUserSprint(Registries.BENDERS.user(event.getPlayer()), event.isSprinting());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onPlayerJump(PlayerJumpEvent event) {
+    game.activationController().onUserJump(Registries.BENDERS.user(event.getPlayer()));
+  }
+
   @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
   public void onPlayerChangeWorld(PlayerChangedWorldEvent event) {
     game.boardManager().forceToggleScoreboard(event.getPlayer());
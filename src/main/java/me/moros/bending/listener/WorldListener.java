@@ -19,7 +19,12 @@
 
 package me.moros.bending.listener;
 
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
 import me.moros.bending.game.Game;
+import me.moros.bending.game.QualityGovernor;
+import me.moros.bending.util.ParticleBuffer;
+import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -33,8 +38,21 @@ public class WorldListener implements Listener {
     this.game = game;
   }
 
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onEntityAdd(EntityAddToWorldEvent event) {
+    if (event.getEntity() instanceof LivingEntity entity) {
+      game.worldManager().onEntityAdd(entity);
+    }
+  }
+
   @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
   public void onWorldUnload(WorldUnloadEvent event) {
     game.worldManager().onWorldUnload(event.getWorld());
   }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onTickEnd(ServerTickEndEvent event) {
+    ParticleBuffer.INSTANCE.flush();
+    QualityGovernor.INSTANCE.onTick(event.getTickDuration());
+  }
 }
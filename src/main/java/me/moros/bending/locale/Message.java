@@ -137,6 +137,11 @@ public interface Message {
   Args2<String, String> VERSION_COMMAND_HOVER = (author, link) -> translatable("bending.command.version.hover", DARK_AQUA)
     .args(text(author, GREEN), text(link, GREEN));
 
+  Args1<Long> PROFILE_HEADER = seconds -> brand(translatable("bending.command.profile.header", DARK_AQUA)
+    .args(text(seconds)));
+  Args0 PROFILE_RESET = () -> translatable("bending.command.profile.reset", GREEN);
+  Args0 PROFILE_DISABLED = () -> translatable("bending.command.profile.disabled", YELLOW);
+
   Args0 BENDING_BOARD_TITLE = () -> translatable("bending.board.title", Style.style(TextDecoration.BOLD));
 
   // Scoreboard items not translatable yet?
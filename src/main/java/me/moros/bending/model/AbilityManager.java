@@ -19,10 +19,14 @@
 
 package me.moros.bending.model;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import me.moros.bending.model.ability.Ability;
+import me.moros.bending.model.ability.InputListener;
+import me.moros.bending.model.ability.InputListener.Input;
+import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.user.User;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -71,6 +75,19 @@ public interface AbilityManager {
     return Stream.empty();
   }
 
+  default @NonNull Stream<Ability> instances(@NonNull AbilityDescription desc) {
+    return Stream.empty();
+  }
+
+  /**
+   * @param user the user that performed the input
+   * @param input the type of input
+   * @return a snapshot of the first active instance of each ability type of the user that is subscribed to the given input
+   */
+  default @NonNull List<@NonNull InputListener> subscribers(@NonNull User user, @NonNull Input input) {
+    return List.of();
+  }
+
   default void destroyUserInstances(@NonNull User user) {
   }
 
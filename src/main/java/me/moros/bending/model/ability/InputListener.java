@@ -0,0 +1,89 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.ability;
+
+import java.util.Set;
+
+import me.moros.bending.model.AbilityManager;
+import me.moros.bending.model.math.Vector3d;
+import me.moros.bending.model.user.User;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Ability} that reacts to the input of its user while it is active.
+ * Instances are subscribed to the inputs they declare when they are added to the {@link AbilityManager}
+ * and unsubscribed once they are removed, so input is only dispatched to instances that care about it.
+ * Only the first active instance of each ability type of a user receives input.
+ * @see AbilityManager#subscribers(User, Input)
+ */
+public interface InputListener extends Ability {
+  /**
+   * @return the inputs this instance subscribes to, must not change for the lifetime of the instance
+   */
+  @NonNull Set<@NonNull Input> inputs();
+
+  default void onSwing() {
+  }
+
+  default void onSneak(boolean sneaking) {
+  }
+
+  default void onInteract(@NonNull Activation method, @Nullable Entity entity, @Nullable Block block) {
+  }
+
+  default void onMove(@NonNull Vector3d velocity) {
+  }
+
+  default void onSprint(boolean sprinting) {
+  }
+
+  default void onJump() {
+  }
+
+  /**
+   * Called when the user is about to take fire damage.
+   * @return true if this instance protects the user from the damage
+   */
+  default boolean onBurn() {
+    return false;
+  }
+
+  /**
+   * Called when the user is about to take fall damage.
+   * @return true if this instance protects the user from the damage
+   */
+  default boolean onFall() {
+    return false;
+  }
+
+  enum Input {
+    SWING,
+    SNEAK,
+    INTERACT,
+    MOVE,
+    SPRINT,
+    JUMP,
+    BURN,
+    FALL
+  }
+}
@@ -24,6 +24,7 @@ import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import me.moros.bending.model.Element;
@@ -42,6 +43,9 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * Assume that all collections returning AbilityDescription are also immutable
  */
 public class AbilityDescription {
+  private static final AtomicInteger ID_COUNTER = new AtomicInteger();
+
+  private final int id;
   private final String name;
   private final Function<AbilityDescription, ? extends Ability> constructor;
   private final Element element;
@@ -53,6 +57,7 @@ public class AbilityDescription {
   private final int hashcode;
 
   private AbilityDescription(AbilityDescriptionBuilder builder) {
+    id = ID_COUNTER.getAndIncrement();
     name = builder.name;
     constructor = builder.constructor;
     element = builder.element;
@@ -65,6 +70,13 @@ public class AbilityDescription {
     createAbility(); // Init config values
   }
 
+  /**
+   * @return a unique sequential index for this ability that is suitable for array based lookups
+   */
+  public int id() {
+    return id;
+  }
+
   public @NonNull String name() {
     return name;
   }
@@ -32,4 +32,11 @@ public interface Collider {
   @NonNull Vector3d halfExtents();
 
   boolean contains(@NonNull Vector3d point);
+
+  /**
+   * Primitive overload of {@link #contains(Vector3d)} that colliders can implement without allocating.
+   */
+  default boolean contains(double x, double y, double z) {
+    return contains(new Vector3d(x, y, z));
+  }
 }
@@ -93,8 +93,13 @@ public class AABB implements Collider {
 
   @Override
   public boolean contains(@NonNull Vector3d point) {
-    return (point.getX() >= min.getX() && point.getX() <= max.getX()) &&
-      (point.getY() >= min.getY() && point.getY() <= max.getY()) &&
-      (point.getZ() >= min.getZ() && point.getZ() <= max.getZ());
+    return contains(point.getX(), point.getY(), point.getZ());
+  }
+
+  @Override
+  public boolean contains(double x, double y, double z) {
+    return (x >= min.getX() && x <= max.getX()) &&
+      (y >= min.getY() && y <= max.getY()) &&
+      (z >= min.getZ() && z <= max.getZ());
   }
 }
@@ -0,0 +1,519 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.collision.geometry;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import me.moros.bending.model.collision.Collider;
+import me.moros.bending.model.math.Vector3d;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import static java.lang.Math.abs;
+
+/**
+ * Packed structure of arrays representation of a group of colliders for batched narrow phase tests.
+ * Every collider is decomposed once into primitive arrays: world space bounds, a sphere part (spheres and disks)
+ * and a box part with unpacked axes and half extents (AABBs, OBBs and disks).
+ * Intersection kernels then work on primitives only, so they neither allocate nor dispatch through instanceof chains.
+ * Results match {@link Collider#intersects(Collider)} for all built-in collider types.
+ */
+public final class ColliderBatch {
+  private static final byte NONE = 0;
+  private static final byte SPHERE = 1;
+  private static final byte AABB_SHAPE = 2;
+  private static final byte OBB_SHAPE = 3;
+  private static final byte DISK = 4;
+  private static final byte OTHER = 5;
+
+  private static final int BOX_STRIDE = 15; // center, 3 axes and local half extents
+  private static final double EPSILON = 1e-9;
+
+  private Collider[] colliders;
+  private byte[] shapes;
+  private double[] minX, minY, minZ, maxX, maxY, maxZ;
+  private double[] sphereX, sphereY, sphereZ, radius;
+  private double[] boxes;
+  private int size;
+
+  public ColliderBatch(int capacity) {
+    int length = Math.max(1, capacity);
+    colliders = new Collider[length];
+    shapes = new byte[length];
+    minX = new double[length];
+    minY = new double[length];
+    minZ = new double[length];
+    maxX = new double[length];
+    maxY = new double[length];
+    maxZ = new double[length];
+    sphereX = new double[length];
+    sphereY = new double[length];
+    sphereZ = new double[length];
+    radius = new double[length];
+    boxes = new double[length * BOX_STRIDE];
+    size = 0;
+  }
+
+  public static @NonNull ColliderBatch of(@NonNull Collider collider) {
+    ColliderBatch batch = new ColliderBatch(1);
+    batch.add(collider);
+    return batch;
+  }
+
+  public static @NonNull ColliderBatch of(@NonNull Collection<? extends @NonNull Collider> colliders) {
+    ColliderBatch batch = new ColliderBatch(colliders.size());
+    for (Collider collider : colliders) {
+      batch.add(collider);
+    }
+    return batch;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public @NonNull Collider collider(int index) {
+    return colliders[index];
+  }
+
+  public double minX(int index) {
+    return minX[index];
+  }
+
+  public double minY(int index) {
+    return minY[index];
+  }
+
+  public double minZ(int index) {
+    return minZ[index];
+  }
+
+  public double maxX(int index) {
+    return maxX[index];
+  }
+
+  public double maxY(int index) {
+    return maxY[index];
+  }
+
+  public double maxZ(int index) {
+    return maxZ[index];
+  }
+
+  public void clear() {
+    Arrays.fill(colliders, 0, size, null);
+    size = 0;
+  }
+
+  /**
+   * Pack a collider at the end of this batch.
+   * @param collider the collider to add
+   * @return the index of the packed collider
+   */
+  public int add(@NonNull Collider collider) {
+    int i = next(collider);
+    if (collider instanceof DummyCollider) {
+      shapes[i] = NONE;
+      // Inverted bounds never overlap anything
+      minX[i] = minY[i] = minZ[i] = Double.MAX_VALUE;
+      maxX[i] = maxY[i] = maxZ[i] = -Double.MAX_VALUE;
+    } else if (collider instanceof Sphere sphere) {
+      shapes[i] = SPHERE;
+      packSphere(i, sphere);
+      setBounds(i, sphere.center, sphere.radius, sphere.radius, sphere.radius);
+    } else if (collider instanceof AABB aabb) {
+      shapes[i] = AABB_SHAPE;
+      packAabb(i, aabb.min.getX(), aabb.min.getY(), aabb.min.getZ(), aabb.max.getX(), aabb.max.getY(), aabb.max.getZ());
+    } else if (collider instanceof OBB obb) {
+      shapes[i] = OBB_SHAPE;
+      packObb(i, obb);
+    } else if (collider instanceof Disk disk) {
+      shapes[i] = DISK;
+      packObb(i, disk.obb);
+      packSphere(i, disk.sphere);
+      // A disk is the intersection of its parts so the intersection of their bounds is conservative
+      Sphere sphere = disk.sphere;
+      minX[i] = Math.max(minX[i], sphere.center.getX() - sphere.radius);
+      minY[i] = Math.max(minY[i], sphere.center.getY() - sphere.radius);
+      minZ[i] = Math.max(minZ[i], sphere.center.getZ() - sphere.radius);
+      maxX[i] = Math.min(maxX[i], sphere.center.getX() + sphere.radius);
+      maxY[i] = Math.min(maxY[i], sphere.center.getY() + sphere.radius);
+      maxZ[i] = Math.min(maxZ[i], sphere.center.getZ() + sphere.radius);
+    } else {
+      shapes[i] = OTHER;
+      setBounds(i, collider.position(), collider.halfExtents().getX(), collider.halfExtents().getY(), collider.halfExtents().getZ());
+    }
+    return i;
+  }
+
+  /**
+   * Pack an axis aligned box, such as the bounding box of an entity, without allocating an {@link AABB}.
+   * @return the index of the packed box
+   */
+  public int addBox(double x0, double y0, double z0, double x1, double y1, double z1) {
+    int i = next(null);
+    shapes[i] = AABB_SHAPE;
+    packAabb(i, x0, y0, z0, x1, y1, z1);
+    return i;
+  }
+
+  /**
+   * Check if the collider at the given index intersects the collider at the given index of another batch.
+   * @param i the index of the collider in this batch
+   * @param other the other batch
+   * @param j the index of the collider in the other batch
+   * @return the same result as {@link Collider#intersects(Collider)}
+   */
+  public boolean intersects(int i, @NonNull ColliderBatch other, int j) {
+    byte s1 = shapes[i];
+    byte s2 = other.shapes[j];
+    if (s1 == NONE || s2 == NONE) {
+      return false;
+    }
+    if (s1 == OTHER || s2 == OTHER) {
+      return colliderAt(i).intersects(other.colliderAt(j));
+    }
+    if (!boundsOverlap(i, other, j)) {
+      return false;
+    }
+    boolean result = true;
+    if (hasSphere(s1)) {
+      if (hasSphere(s2)) {
+        result = sphereSphere(this, i, other, j);
+      }
+      if (result && hasBox(s2)) {
+        result = sphereBox(this, i, other, j);
+      }
+    }
+    if (result && hasBox(s1)) {
+      if (hasSphere(s2)) {
+        result = sphereBox(other, j, this, i);
+      }
+      if (result && hasBox(s2)) {
+        result = s1 == AABB_SHAPE && s2 == AABB_SHAPE ? aabbAabb(this, i, other, j) : boxBox(this, i, other, j);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Test a single collider against every collider of another batch.
+   * @param i the index of the collider in this batch
+   * @param other the batch to test against
+   * @param result the array to store the results, must be at least as long as the size of the other batch
+   * @return the amount of intersections
+   */
+  public int intersectsAll(int i, @NonNull ColliderBatch other, boolean @NonNull [] result) {
+    int count = 0;
+    for (int j = 0; j < other.size; j++) {
+      boolean hit = intersects(i, other, j);
+      result[j] = hit;
+      if (hit) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Find the first pair of intersecting colliders between this and another batch.
+   * Pairs are checked in the same order as two nested loops over both batches.
+   * @param other the other batch
+   * @return the index in this batch in the high 32 bits and the index in the other batch in the low 32 bits or -1 if there is no intersection
+   */
+  public long firstIntersection(@NonNull ColliderBatch other) {
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < other.size; j++) {
+        if (intersects(i, other, j)) {
+          return ((long) i << 32) | j;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Sweep an axis aligned box along a displacement against the bounds of every collider in this batch.
+   * Time is measured in multiples of the displacement, so the position at time t is {@code start + t * displacement}.
+   * The result is conservative: any time at which the box overlaps the bounds of a collider lies in that collider's window.
+   * A sphere, or any other collider, can be swept by using its half extents.
+   * @param x the x coordinate of the start position
+   * @param y the y coordinate of the start position
+   * @param z the z coordinate of the start position
+   * @param ex the half extent of the box on the x axis
+   * @param ey the half extent of the box on the y axis
+   * @param ez the half extent of the box on the z axis
+   * @param dx the x component of the displacement
+   * @param dy the y component of the displacement
+   * @param dz the z component of the displacement
+   * @param maxTime the end of the sweep
+   * @param result the array to store the entry time of collider j at 2j and its exit time at 2j+1, must be at least twice as long as this batch
+   * @return the amount of colliders the box can touch between time 0 and maxTime
+   */
+  public int sweepAll(double x, double y, double z, double ex, double ey, double ez, double dx, double dy, double dz,
+                      double maxTime, double @NonNull [] result) {
+    int count = 0;
+    for (int j = 0; j < size; j++) {
+      int k = 2 * j;
+      result[k] = Double.NEGATIVE_INFINITY;
+      result[k + 1] = Double.POSITIVE_INFINITY;
+      boolean overlap = shapes[j] != NONE
+        && clip(x, dx, minX[j] - ex - EPSILON, maxX[j] + ex + EPSILON, result, k)
+        && clip(y, dy, minY[j] - ey - EPSILON, maxY[j] + ey + EPSILON, result, k)
+        && clip(z, dz, minZ[j] - ez - EPSILON, maxZ[j] + ez + EPSILON, result, k);
+      if (overlap && result[k] <= maxTime && result[k + 1] >= 0) {
+        count++;
+      } else {
+        result[k] = Double.POSITIVE_INFINITY;
+        result[k + 1] = Double.NEGATIVE_INFINITY;
+      }
+    }
+    return count;
+  }
+
+  private Collider colliderAt(int index) {
+    Collider collider = colliders[index];
+    if (collider == null) { // Packed with addBox
+      collider = new AABB(new Vector3d(minX[index], minY[index], minZ[index]), new Vector3d(maxX[index], maxY[index], maxZ[index]));
+    }
+    return collider;
+  }
+
+  private int next(Collider collider) {
+    if (size == shapes.length) {
+      grow();
+    }
+    colliders[size] = collider;
+    return size++;
+  }
+
+  private void grow() {
+    int length = 2 * shapes.length;
+    colliders = Arrays.copyOf(colliders, length);
+    shapes = Arrays.copyOf(shapes, length);
+    minX = Arrays.copyOf(minX, length);
+    minY = Arrays.copyOf(minY, length);
+    minZ = Arrays.copyOf(minZ, length);
+    maxX = Arrays.copyOf(maxX, length);
+    maxY = Arrays.copyOf(maxY, length);
+    maxZ = Arrays.copyOf(maxZ, length);
+    sphereX = Arrays.copyOf(sphereX, length);
+    sphereY = Arrays.copyOf(sphereY, length);
+    sphereZ = Arrays.copyOf(sphereZ, length);
+    radius = Arrays.copyOf(radius, length);
+    boxes = Arrays.copyOf(boxes, length * BOX_STRIDE);
+  }
+
+  // Narrows the window at k to the times the moving coordinate lies within [min, max]
+  private static boolean clip(double p, double d, double min, double max, double[] window, int k) {
+    if (d == 0) {
+      return p >= min && p <= max;
+    }
+    double t0 = (min - p) / d;
+    double t1 = (max - p) / d;
+    window[k] = Math.max(window[k], Math.min(t0, t1));
+    window[k + 1] = Math.min(window[k + 1], Math.max(t0, t1));
+    return window[k] <= window[k + 1];
+  }
+
+  private void setBounds(int i, Vector3d center, double hx, double hy, double hz) {
+    minX[i] = center.getX() - hx;
+    minY[i] = center.getY() - hy;
+    minZ[i] = center.getZ() - hz;
+    maxX[i] = center.getX() + hx;
+    maxY[i] = center.getY() + hy;
+    maxZ[i] = center.getZ() + hz;
+  }
+
+  private void packSphere(int i, Sphere sphere) {
+    sphereX[i] = sphere.center.getX();
+    sphereY[i] = sphere.center.getY();
+    sphereZ[i] = sphere.center.getZ();
+    radius[i] = sphere.radius;
+  }
+
+  private void packAabb(int i, double x0, double y0, double z0, double x1, double y1, double z1) {
+    minX[i] = x0;
+    minY[i] = y0;
+    minZ[i] = z0;
+    maxX[i] = x1;
+    maxY[i] = y1;
+    maxZ[i] = z1;
+    // Same center and extents as an OBB created from an AABB
+    int offset = i * BOX_STRIDE;
+    boxes[offset] = x0 + (x1 - x0) * 0.5;
+    boxes[offset + 1] = y0 + (y1 - y0) * 0.5;
+    boxes[offset + 2] = z0 + (z1 - z0) * 0.5;
+    boxes[offset + 3] = 1;
+    boxes[offset + 4] = 0;
+    boxes[offset + 5] = 0;
+    boxes[offset + 6] = 0;
+    boxes[offset + 7] = 1;
+    boxes[offset + 8] = 0;
+    boxes[offset + 9] = 0;
+    boxes[offset + 10] = 0;
+    boxes[offset + 11] = 1;
+    boxes[offset + 12] = abs((x1 - x0) * 0.5);
+    boxes[offset + 13] = abs((y1 - y0) * 0.5);
+    boxes[offset + 14] = abs((z1 - z0) * 0.5);
+  }
+
+  private void packObb(int i, OBB obb) {
+    int offset = i * BOX_STRIDE;
+    boxes[offset] = obb.center.getX();
+    boxes[offset + 1] = obb.center.getY();
+    boxes[offset + 2] = obb.center.getZ();
+    for (int k = 0; k < 3; k++) {
+      Vector3d axis = obb.axes[k];
+      boxes[offset + 3 + 3 * k] = axis.getX();
+      boxes[offset + 4 + 3 * k] = axis.getY();
+      boxes[offset + 5 + 3 * k] = axis.getZ();
+    }
+    boxes[offset + 12] = obb.e.getX();
+    boxes[offset + 13] = obb.e.getY();
+    boxes[offset + 14] = obb.e.getZ();
+    // Precompute the world space extents, the projection of the scaled axes onto the world axes
+    double hx = 0, hy = 0, hz = 0;
+    for (int k = 0; k < 3; k++) {
+      double e = boxes[offset + 12 + k];
+      hx += abs(boxes[offset + 3 + 3 * k] * e);
+      hy += abs(boxes[offset + 4 + 3 * k] * e);
+      hz += abs(boxes[offset + 5 + 3 * k] * e);
+    }
+    minX[i] = boxes[offset] - hx;
+    minY[i] = boxes[offset + 1] - hy;
+    minZ[i] = boxes[offset + 2] - hz;
+    maxX[i] = boxes[offset] + hx;
+    maxY[i] = boxes[offset + 1] + hy;
+    maxZ[i] = boxes[offset + 2] + hz;
+  }
+
+  private boolean boundsOverlap(int i, ColliderBatch other, int j) {
+    return maxX[i] + EPSILON >= other.minX[j] && minX[i] - EPSILON <= other.maxX[j]
+      && maxY[i] + EPSILON >= other.minY[j] && minY[i] - EPSILON <= other.maxY[j]
+      && maxZ[i] + EPSILON >= other.minZ[j] && minZ[i] - EPSILON <= other.maxZ[j];
+  }
+
+  private static boolean hasSphere(byte shape) {
+    return shape == SPHERE || shape == DISK;
+  }
+
+  private static boolean hasBox(byte shape) {
+    return shape == AABB_SHAPE || shape == OBB_SHAPE || shape == DISK;
+  }
+
+  private static boolean sphereSphere(ColliderBatch a, int i, ColliderBatch b, int j) {
+    double dx = a.sphereX[i] - b.sphereX[j];
+    double dy = a.sphereY[i] - b.sphereY[j];
+    double dz = a.sphereZ[i] - b.sphereZ[j];
+    double r = a.radius[i] + b.radius[j];
+    return dx * dx + dy * dy + dz * dz <= r * r;
+  }
+
+  // Sphere part of a[i] against the box part of b[j]
+  private static boolean sphereBox(ColliderBatch a, int i, ColliderBatch b, int j) {
+    double x = a.sphereX[i];
+    double y = a.sphereY[i];
+    double z = a.sphereZ[i];
+    double r = a.radius[i];
+    double dx, dy, dz;
+    if (b.shapes[j] == AABB_SHAPE) {
+      dx = x - Math.max(b.minX[j], Math.min(x, b.maxX[j]));
+      dy = y - Math.max(b.minY[j], Math.min(y, b.maxY[j]));
+      dz = z - Math.max(b.minZ[j], Math.min(z, b.maxZ[j]));
+    } else {
+      double[] box = b.boxes;
+      int o = j * BOX_STRIDE;
+      double tx = x - box[o];
+      double ty = y - box[o + 1];
+      double tz = z - box[o + 2];
+      double cx = box[o];
+      double cy = box[o + 1];
+      double cz = box[o + 2];
+      for (int k = 0; k < 3; k++) {
+        double ax = box[o + 3 + 3 * k];
+        double ay = box[o + 4 + 3 * k];
+        double az = box[o + 5 + 3 * k];
+        double e = box[o + 12 + k];
+        double dist = Math.max(-e, Math.min(tx * ax + ty * ay + tz * az, e));
+        cx += ax * dist;
+        cy += ay * dist;
+        cz += az * dist;
+      }
+      dx = x - cx;
+      dy = y - cy;
+      dz = z - cz;
+    }
+    return dx * dx + dy * dy + dz * dz <= r * r;
+  }
+
+  private static boolean aabbAabb(ColliderBatch a, int i, ColliderBatch b, int j) {
+    return a.maxX[i] > b.minX[j] && a.minX[i] < b.maxX[j]
+      && a.maxY[i] > b.minY[j] && a.minY[i] < b.maxY[j]
+      && a.maxZ[i] > b.minZ[j] && a.minZ[i] < b.maxZ[j];
+  }
+
+  // Separating axis test between the box parts of a[i] and b[j] over the 15 candidate axes
+  private static boolean boxBox(ColliderBatch a, int i, ColliderBatch b, int j) {
+    double[] b1 = a.boxes;
+    double[] b2 = b.boxes;
+    int o1 = i * BOX_STRIDE;
+    int o2 = j * BOX_STRIDE;
+    double px = b2[o2] - b1[o1];
+    double py = b2[o2 + 1] - b1[o1 + 1];
+    double pz = b2[o2 + 2] - b1[o1 + 2];
+    for (int k = 0; k < 3; k++) {
+      if (separated(px, py, pz, b1[o1 + 3 + 3 * k], b1[o1 + 4 + 3 * k], b1[o1 + 5 + 3 * k], b1, o1, b2, o2)
+        || separated(px, py, pz, b2[o2 + 3 + 3 * k], b2[o2 + 4 + 3 * k], b2[o2 + 5 + 3 * k], b1, o1, b2, o2)) {
+        return false;
+      }
+    }
+    for (int k = 0; k < 3; k++) {
+      double ax = b1[o1 + 3 + 3 * k];
+      double ay = b1[o1 + 4 + 3 * k];
+      double az = b1[o1 + 5 + 3 * k];
+      for (int l = 0; l < 3; l++) {
+        double bx = b2[o2 + 3 + 3 * l];
+        double by = b2[o2 + 4 + 3 * l];
+        double bz = b2[o2 + 5 + 3 * l];
+        double nx = ay * bz - by * az;
+        double ny = az * bx - bz * ax;
+        double nz = ax * by - bx * ay;
+        if (separated(px, py, pz, nx, ny, nz, b1, o1, b2, o2)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean separated(double px, double py, double pz, double nx, double ny, double nz,
+                                   double[] b1, int o1, double[] b2, int o2) {
+    double dot = abs(px * nx + py * ny + pz * nz);
+    return dot > projectedRadius(b1, o1, nx, ny, nz) + projectedRadius(b2, o2, nx, ny, nz);
+  }
+
+  // Sum of the half extents projected onto the given plane normal
+  private static double projectedRadius(double[] box, int o, double nx, double ny, double nz) {
+    return abs(box[o + 12] * (box[o + 3] * nx + box[o + 4] * ny + box[o + 5] * nz))
+      + abs(box[o + 13] * (box[o + 6] * nx + box[o + 7] * ny + box[o + 8] * nz))
+      + abs(box[o + 14] * (box[o + 9] * nx + box[o + 10] * ny + box[o + 11] * nz));
+  }
+}
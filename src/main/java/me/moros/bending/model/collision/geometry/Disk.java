@@ -27,8 +27,8 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  * Combination of {@link OBB} and {@link Sphere} to simulate a disk collider
  */
 public class Disk implements Collider {
-  private final Sphere sphere;
-  private final OBB obb;
+  final Sphere sphere;
+  final OBB obb;
 
   public Disk(@NonNull OBB obb, @NonNull Sphere sphere) {
     this.obb = obb;
@@ -59,4 +59,9 @@ public class Disk implements Collider {
   public boolean contains(@NonNull Vector3d point) {
     return sphere.contains(point) && obb.contains(point);
   }
+
+  @Override
+  public boolean contains(double x, double y, double z) {
+    return sphere.contains(x, y, z) && obb.contains(x, y, z);
+  }
 }
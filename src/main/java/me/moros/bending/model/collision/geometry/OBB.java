@@ -30,9 +30,9 @@ import static java.lang.Math.abs;
  * Oriented bounding box
  */
 public class OBB implements Collider {
-  private final Vector3d center;
-  private final Vector3d[] axes;
-  private final Vector3d e; // Half extents in local space.
+  final Vector3d center;
+  final Vector3d[] axes;
+  final Vector3d e; // Half extents in local space.
 
   private OBB(Vector3d center, Vector3d[] axes, Vector3d halfExtents) {
     this.center = center;
@@ -78,15 +78,25 @@ public class OBB implements Collider {
   }
 
   private boolean intersects(OBB other) {
-    final Vector3d pos = other.center.subtract(center);
+    final double px = other.center.getX() - center.getX();
+    final double py = other.center.getY() - center.getY();
+    final double pz = other.center.getZ() - center.getZ();
     for (int i = 0; i < 3; i++) {
-      if (getSeparatingPlane(pos, axes[i], other) || getSeparatingPlane(pos, other.axes[i], other)) {
+      Vector3d a = axes[i];
+      Vector3d b = other.axes[i];
+      if (getSeparatingPlane(px, py, pz, a.getX(), a.getY(), a.getZ(), other)
+        || getSeparatingPlane(px, py, pz, b.getX(), b.getY(), b.getZ(), other)) {
         return false;
       }
     }
     for (int i = 0; i < 3; i++) {
+      Vector3d a = axes[i];
       for (int j = 0; j < 3; j++) {
-        if (getSeparatingPlane(pos, axes[i].cross(other.axes[j]), other)) {
+        Vector3d b = other.axes[j];
+        double nx = a.getY() * b.getZ() - b.getY() * a.getZ();
+        double ny = a.getZ() * b.getX() - b.getZ() * a.getX();
+        double nz = a.getX() * b.getY() - b.getX() * a.getY();
+        if (getSeparatingPlane(px, py, pz, nx, ny, nz, other)) {
           return false;
         }
       }
@@ -95,15 +105,21 @@ public class OBB implements Collider {
   }
 
   // check if there's a separating plane in between the selected axes
-  private boolean getSeparatingPlane(Vector3d pos, Vector3d plane, OBB other) {
-    final double dot = abs(pos.dot(plane));
-    final double x1 = abs((axes[0].multiply(e.getX())).dot(plane));
-    final double y1 = abs((axes[1].multiply(e.getY())).dot(plane));
-    final double z1 = abs((axes[2].multiply(e.getZ())).dot(plane));
-    final double x2 = abs((other.axes[0].multiply(other.e.getX())).dot(plane));
-    final double y2 = abs((other.axes[1].multiply(other.e.getY())).dot(plane));
-    final double z2 = abs((other.axes[2].multiply(other.e.getZ())).dot(plane));
-    return dot > x1 + y1 + z1 + x2 + y2 + z2;
+  private boolean getSeparatingPlane(double px, double py, double pz, double nx, double ny, double nz, OBB other) {
+    final double dot = abs(px * nx + py * ny + pz * nz);
+    final double r1 = projectedRadius(nx, ny, nz);
+    final double r2 = other.projectedRadius(nx, ny, nz);
+    return dot > r1 + r2;
+  }
+
+  // Sum of the half extents projected onto the given plane normal
+  private double projectedRadius(double nx, double ny, double nz) {
+    Vector3d a0 = axes[0];
+    Vector3d a1 = axes[1];
+    Vector3d a2 = axes[2];
+    return abs(e.getX() * (a0.getX() * nx + a0.getY() * ny + a0.getZ() * nz))
+      + abs(e.getY() * (a1.getX() * nx + a1.getY() * ny + a1.getZ() * nz))
+      + abs(e.getZ() * (a2.getX() * nx + a2.getY() * ny + a2.getZ() * nz));
   }
 
   // Returns the position closest to the target that lies on/in the OBB.
@@ -120,6 +136,31 @@ public class OBB implements Collider {
     return closest;
   }
 
+  /**
+   * Squared distance between the given point and the closest position on/in the OBB.
+   * @see #closestPosition(Vector3d)
+   */
+  public double distanceSq(double x, double y, double z) {
+    double tx = x - center.getX();
+    double ty = y - center.getY();
+    double tz = z - center.getZ();
+    double cx = center.getX();
+    double cy = center.getY();
+    double cz = center.getZ();
+    for (int i = 0; i < 3; i++) {
+      Vector3d axis = axes[i];
+      double r = i == 0 ? e.getX() : (i == 1 ? e.getY() : e.getZ());
+      double dist = Math.max(-r, Math.min(tx * axis.getX() + ty * axis.getY() + tz * axis.getZ(), r));
+      cx += axis.getX() * dist;
+      cy += axis.getY() * dist;
+      cz += axis.getZ() * dist;
+    }
+    double dx = x - cx;
+    double dy = y - cy;
+    double dz = z - cz;
+    return dx * dx + dy * dy + dz * dz;
+  }
+
   @Override
   public @NonNull Vector3d position() {
     return center;
@@ -132,14 +173,20 @@ public class OBB implements Collider {
 
   @Override
   public @NonNull Vector3d halfExtents() {
-    double x = e.dot(Vector3d.PLUS_I);
-    double y = e.dot(Vector3d.PLUS_J);
-    double z = e.dot(Vector3d.PLUS_K);
-    return new Vector3d(x, y, z);
+    // Project every local axis onto the world axes to get the enclosing AABB extents
+    Vector3d ex = axes[0].multiply(e.getX()).abs();
+    Vector3d ey = axes[1].multiply(e.getY()).abs();
+    Vector3d ez = axes[2].multiply(e.getZ()).abs();
+    return ex.add(ey).add(ez);
   }
 
   @Override
   public boolean contains(@NonNull Vector3d point) {
-    return closestPosition(point).distanceSq(point) <= 0.01;
+    return contains(point.getX(), point.getY(), point.getZ());
+  }
+
+  @Override
+  public boolean contains(double x, double y, double z) {
+    return distanceSq(x, y, z) <= 0.01;
   }
 }
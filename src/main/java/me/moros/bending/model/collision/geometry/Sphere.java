@@ -69,12 +69,11 @@ public class Sphere implements Collider {
     double y = Math.max(min.getY(), Math.min(center.getY(), max.getY()));
     double z = Math.max(min.getZ(), Math.min(center.getZ(), max.getZ()));
     // Check if that point is inside of the sphere.
-    return contains(new Vector3d(x, y, z));
+    return contains(x, y, z);
   }
 
   private boolean intersects(OBB obb) {
-    Vector3d v = center.subtract(obb.closestPosition(center));
-    return v.dot(v) <= radius * radius;
+    return obb.distanceSq(center.getX(), center.getY(), center.getZ()) <= radius * radius;
   }
 
   private boolean intersects(Sphere other) {
@@ -98,7 +97,14 @@ public class Sphere implements Collider {
   }
 
   public boolean contains(@NonNull Vector3d point) {
-    double distSq = center.distanceSq(point);
-    return distSq <= radius * radius;
+    return contains(point.getX(), point.getY(), point.getZ());
+  }
+
+  @Override
+  public boolean contains(double x, double y, double z) {
+    double dx = x - center.getX();
+    double dy = y - center.getY();
+    double dz = z - center.getZ();
+    return dx * dx + dy * dy + dz * dz <= radius * radius;
   }
 }
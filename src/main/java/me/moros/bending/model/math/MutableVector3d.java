@@ -0,0 +1,206 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.math;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Mutable 3D Vector implementation for hot paths.
+ * All operations modify the instance in place and return it to allow chaining without allocating.
+ * Instances are meant to be held as working state by their owner and converted with {@link #toVector3d()} only when
+ * the value is exposed.
+ * @see Vector3d
+ */
+public final class MutableVector3d {
+  private double x;
+  private double y;
+  private double z;
+
+  public MutableVector3d() {
+    this(0, 0, 0);
+  }
+
+  public MutableVector3d(double x, double y, double z) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+
+  public MutableVector3d(@NonNull Vector3d v) {
+    this(v.getX(), v.getY(), v.getZ());
+  }
+
+  /**
+   * @return the x coordinate
+   */
+  public double getX() {
+    return x;
+  }
+
+  /**
+   * @return the y coordinate
+   */
+  public double getY() {
+    return y;
+  }
+
+  /**
+   * @return the z coordinate
+   */
+  public double getZ() {
+    return z;
+  }
+
+  public @NonNull MutableVector3d set(double x, double y, double z) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    return this;
+  }
+
+  public @NonNull MutableVector3d set(@NonNull Vector3d v) {
+    return set(v.getX(), v.getY(), v.getZ());
+  }
+
+  public @NonNull MutableVector3d set(@NonNull MutableVector3d v) {
+    return set(v.x, v.y, v.z);
+  }
+
+  public @NonNull MutableVector3d setY(double value) {
+    this.y = value;
+    return this;
+  }
+
+  public @NonNull MutableVector3d add(double x, double y, double z) {
+    this.x += x;
+    this.y += y;
+    this.z += z;
+    return this;
+  }
+
+  public @NonNull MutableVector3d add(@NonNull Vector3d v) {
+    return add(v.getX(), v.getY(), v.getZ());
+  }
+
+  public @NonNull MutableVector3d add(@NonNull MutableVector3d v) {
+    return add(v.x, v.y, v.z);
+  }
+
+  public @NonNull MutableVector3d subtract(@NonNull Vector3d v) {
+    return add(-v.getX(), -v.getY(), -v.getZ());
+  }
+
+  public @NonNull MutableVector3d subtract(@NonNull MutableVector3d v) {
+    return add(-v.x, -v.y, -v.z);
+  }
+
+  public @NonNull MutableVector3d multiply(double a) {
+    x *= a;
+    y *= a;
+    z *= a;
+    return this;
+  }
+
+  /**
+   * @return {@link #normalize(Vector3d)} with {@link Vector3d#PLUS_I} as default.
+   */
+  public @NonNull MutableVector3d normalize() {
+    return normalize(Vector3d.PLUS_I);
+  }
+
+  /**
+   * Normalize the instance.
+   * @param def the default vector to use if norm is zero
+   * @return this vector
+   */
+  public @NonNull MutableVector3d normalize(@NonNull Vector3d def) {
+    double s = length();
+    if (s == 0) {
+      return set(def);
+    }
+    return multiply(1 / s);
+  }
+
+  /**
+   * Move this vector towards the given point.
+   * @param target the point to interpolate to
+   * @param t the interpolation factor, 0 leaves the vector unchanged while 1 sets it to the target
+   * @return this vector
+   */
+  public @NonNull MutableVector3d lerp(@NonNull Vector3d target, double t) {
+    x += (target.getX() - x) * t;
+    y += (target.getY() - y) * t;
+    z += (target.getZ() - z) * t;
+    return this;
+  }
+
+  public double length() {
+    return Math.sqrt(x * x + y * y + z * z);
+  }
+
+  public double lengthSq() {
+    return x * x + y * y + z * z;
+  }
+
+  public double dot(@NonNull Vector3d v) {
+    return x * v.getX() + y * v.getY() + z * v.getZ();
+  }
+
+  public double distanceSq(double x, double y, double z) {
+    double dx = x - this.x;
+    double dy = y - this.y;
+    double dz = z - this.z;
+    return dx * dx + dy * dy + dz * dz;
+  }
+
+  public double distanceSq(@NonNull Vector3d v) {
+    return distanceSq(v.getX(), v.getY(), v.getZ());
+  }
+
+  public int blockX() {
+    return FastMath.floor(x);
+  }
+
+  public int blockY() {
+    return FastMath.floor(y);
+  }
+
+  public int blockZ() {
+    return FastMath.floor(z);
+  }
+
+  public @NonNull Block toBlock(@NonNull World world) {
+    return world.getBlockAt(blockX(), blockY(), blockZ());
+  }
+
+  /**
+   * @return an immutable snapshot of this vector
+   */
+  public @NonNull Vector3d toVector3d() {
+    return new Vector3d(x, y, z);
+  }
+
+  @Override
+  public String toString() {
+    return "[" + x + ", " + y + ", " + z + "]";
+  }
+}
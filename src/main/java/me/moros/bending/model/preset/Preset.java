@@ -20,6 +20,7 @@
 package me.moros.bending.model.preset;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -72,7 +73,7 @@ public final class Preset {
    * @return an immutable copy of the names of the abilities that this preset holds
    */
   public @NonNull List<@Nullable String> abilities() {
-    return List.of(abilities);
+    return Collections.unmodifiableList(Arrays.asList(abilities.clone()));
   }
 
   public boolean isEmpty() {
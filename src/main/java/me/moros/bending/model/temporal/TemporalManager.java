@@ -24,14 +24,35 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
+import me.moros.bending.model.temporal.TimerWheel.Timer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class TemporalManager<K, V extends Temporary> {
   private final Map<K, V> instances;
+  private final TimerWheel wheel;
 
   public TemporalManager() {
     instances = new ConcurrentHashMap<>();
+    wheel = new TimerWheel();
+  }
+
+  /**
+   * Schedule a temporary to be reverted after the specified amount of ticks.
+   * @param value the temporary to revert
+   * @param ticks the delay in ticks
+   * @return a handle that can be used to cancel the scheduled revert
+   */
+  public @NonNull Timer schedule(@NonNull V value, int ticks) {
+    return wheel.schedule(value, ticks);
+  }
+
+  /**
+   * Advance the revert timers of this manager by a single tick.
+   * @param budget the maximum amount of temporaries to revert during this tick
+   */
+  public void tick(int budget) {
+    wheel.advance(budget);
   }
 
   public boolean isTemp(@Nullable K key) {
@@ -0,0 +1,187 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.model.temporal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A tick driven hierarchical timing wheel that schedules {@link Temporary} reverts.
+ * The first wheel has a slot for each of the next 256 ticks and every following wheel covers 64 times the range of the previous one.
+ * Timers in higher wheels are cascaded into lower wheels as time advances, so scheduling and cancelling are constant time.
+ * Expired timers are queued and drained according to the revert budget passed to {@link #advance(int)}.
+ */
+public final class TimerWheel {
+  private static final int ROOT_BITS = 8;
+  private static final int LEVEL_BITS = 6;
+  private static final int ROOT_SIZE = 1 << ROOT_BITS;
+  private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+  private static final int LEVELS = 5;
+
+  private final Timer[][] wheels;
+  private final Deque<Timer> expired;
+  private long currentTick;
+
+  public TimerWheel() {
+    wheels = new Timer[LEVELS][];
+    for (int i = 0; i < LEVELS; i++) {
+      Timer[] wheel = new Timer[i == 0 ? ROOT_SIZE : LEVEL_SIZE];
+      for (int j = 0; j < wheel.length; j++) {
+        wheel[j] = Timer.sentinel();
+      }
+      wheels[i] = wheel;
+    }
+    expired = new ArrayDeque<>();
+    currentTick = 0;
+  }
+
+  /**
+   * Schedule a temporary to be reverted.
+   * The wheel is expected to advance at the start of each tick, so a temporary scheduled anywhere during a tick
+   * is reverted when the wheel advances for the tick that is the given amount of ticks later.
+   * @param temporary the temporary to revert
+   * @param ticks the amount of ticks to wait, values smaller than 1 are treated as 1
+   * @return a handle that can be used to cancel the scheduled revert
+   */
+  public @NonNull Timer schedule(@NonNull Temporary temporary, int ticks) {
+    Timer timer = new Timer(temporary, currentTick + Math.max(1, ticks) - 1);
+    insert(timer);
+    return timer;
+  }
+
+  /**
+   * Advance the wheel by a single tick and revert expired temporaries.
+   * Any expired temporaries that exceed the budget are kept and reverted in the following ticks.
+   * @param budget the maximum amount of temporaries to revert
+   */
+  public void advance(int budget) {
+    int index = (int) (currentTick & (ROOT_SIZE - 1));
+    if (index == 0) {
+      cascade();
+    }
+    Timer sentinel = wheels[0][index];
+    for (Timer timer = sentinel.next; timer != sentinel; ) {
+      Timer next = timer.next;
+      timer.unlink();
+      expired.offerLast(timer);
+      timer = next;
+    }
+    currentTick++;
+    int counter = 0;
+    while (counter < budget && !expired.isEmpty()) {
+      Timer timer = expired.pollFirst();
+      if (!timer.cancelled) {
+        timer.temporary.revert();
+        counter++;
+      }
+    }
+  }
+
+  /**
+   * @return the amount of expired temporaries that are waiting to be reverted
+   */
+  public int backlog() {
+    return expired.size();
+  }
+
+  private void cascade() {
+    for (int level = 1; level < LEVELS; level++) {
+      int shift = ROOT_BITS + (level - 1) * LEVEL_BITS;
+      int index = (int) ((currentTick >> shift) & (LEVEL_SIZE - 1));
+      Timer sentinel = wheels[level][index];
+      for (Timer timer = sentinel.next; timer != sentinel; ) {
+        Timer next = timer.next;
+        timer.unlink();
+        insert(timer);
+        timer = next;
+      }
+      if (index != 0) {
+        return;
+      }
+    }
+  }
+
+  private void insert(Timer timer) {
+    long delta = timer.expirationTick - currentTick;
+    Timer sentinel;
+    if (delta < ROOT_SIZE) {
+      sentinel = wheels[0][(int) (timer.expirationTick & (ROOT_SIZE - 1))];
+    } else {
+      int level = 1;
+      int shift = ROOT_BITS;
+      while (level < LEVELS - 1 && delta >= 1L << (shift + LEVEL_BITS)) {
+        level++;
+        shift += LEVEL_BITS;
+      }
+      sentinel = wheels[level][(int) ((timer.expirationTick >> shift) & (LEVEL_SIZE - 1))];
+    }
+    timer.linkBefore(sentinel);
+  }
+
+  /**
+   * A handle to a scheduled revert.
+   */
+  public static final class Timer {
+    private final Temporary temporary;
+    private final long expirationTick;
+    private Timer prev;
+    private Timer next;
+    private boolean cancelled;
+
+    private Timer(Temporary temporary, long expirationTick) {
+      this.temporary = temporary;
+      this.expirationTick = expirationTick;
+    }
+
+    private static Timer sentinel() {
+      Timer sentinel = new Timer(null, -1);
+      sentinel.prev = sentinel;
+      sentinel.next = sentinel;
+      return sentinel;
+    }
+
+    private void linkBefore(Timer sentinel) {
+      prev = sentinel.prev;
+      next = sentinel;
+      sentinel.prev.next = this;
+      sentinel.prev = this;
+    }
+
+    private void unlink() {
+      if (prev != null) {
+        prev.next = next;
+        next.prev = prev;
+        prev = null;
+        next = null;
+      }
+    }
+
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    public void cancel() {
+      cancelled = true;
+      unlink();
+    }
+  }
+}
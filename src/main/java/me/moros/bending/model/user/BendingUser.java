@@ -27,21 +27,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-import me.moros.atlas.caffeine.cache.Cache;
-import me.moros.atlas.caffeine.cache.Caffeine;
-import me.moros.atlas.caffeine.cache.Scheduler;
 import me.moros.bending.Bending;
 import me.moros.bending.events.BindChangeEvent.BindType;
 import me.moros.bending.events.ElementChangeEvent.ElementAction;
+import me.moros.bending.game.CooldownManager;
 import me.moros.bending.model.Element;
 import me.moros.bending.model.ability.description.AbilityDescription;
-import me.moros.bending.model.ability.description.CooldownExpiry;
 import me.moros.bending.model.predicate.general.BendingConditions;
 import me.moros.bending.model.predicate.general.CompositeBendingConditional;
 import me.moros.bending.model.preset.Preset;
 import me.moros.bending.model.user.profile.BenderData;
 import me.moros.bending.registry.Registries;
-import me.moros.bending.util.Tasker;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -51,24 +47,12 @@ public class BendingUser implements User {
   private final LivingEntity entity;
   private final Set<Element> elements;
   private final List<AbilityDescription> slots;
-  private final Cache<AbilityDescription, Long> cooldowns;
+  private final CooldownManager.Table cooldowns;
   private final CompositeBendingConditional bendingConditional;
 
   protected BendingUser(@NonNull LivingEntity entity, @NonNull BenderData data) {
     this.entity = entity;
-    cooldowns = Caffeine.newBuilder().expireAfter(new CooldownExpiry())
-      .removalListener((key, value, cause) -> {
-        if (key != null) {
-          Tasker.sync(() -> {
-            if (valid()) { // Ensure user is valid before posting event
-              Bending.eventBus().postCooldownRemoveEvent(this, key);
-              updateBoard(key, false);
-            }
-          }, 0);
-        }
-      })
-      .scheduler(Scheduler.systemScheduler())
-      .build();
+    cooldowns = CooldownManager.INSTANCE.createTable(this);
     slots = new Preset(Arrays.asList(data.slots())).toBinds();
     elements = EnumSet.noneOf(Element.class);
     data.elements().stream().map(Element::fromName).flatMap(Optional::stream).forEach(elements::add);
@@ -172,13 +156,13 @@ public class BendingUser implements User {
 
   @Override
   public boolean onCooldown(@NonNull AbilityDescription desc) {
-    return cooldowns.getIfPresent(desc) != null;
+    return cooldowns.onCooldown(desc);
   }
 
   @Override
   public boolean addCooldown(@NonNull AbilityDescription desc, long duration) {
     if (duration > 0 && Bending.eventBus().postCooldownAddEvent(this, desc, duration)) {
-      cooldowns.put(desc, duration);
+      cooldowns.add(desc, duration);
       updateBoard(desc, true);
       return true;
     }
@@ -141,7 +141,8 @@ public interface BukkitUser extends ForwardingAudience.Single {
    */
   default <T extends Entity> RayTrace compositeRayTrace(double range, @NonNull Class<T> type) {
     return RayTrace.of(eyeLocation(), direction()).range(range)
-      .type(Type.COMPOSITE).entityPredicate(e -> type.isInstance(e) && !e.equals(entity()));
+      .type(Type.COMPOSITE).entityPredicate(e -> type.isInstance(e) && !e.equals(entity()))
+      .livingOnly(LivingEntity.class.isAssignableFrom(type));
   }
 
   /**
@@ -23,6 +23,7 @@ import java.util.function.Predicate;
 
 import me.moros.bending.game.temporal.TempBlock;
 import me.moros.bending.model.ability.description.AbilityDescription;
+import me.moros.bending.model.collision.geometry.AABB;
 import me.moros.bending.model.math.FastMath;
 import me.moros.bending.model.predicate.general.CompositeBendingConditional;
 import me.moros.bending.model.preset.Preset;
@@ -131,6 +132,13 @@ public interface User extends BukkitUser, ElementUser {
     return ProtectionCache.INSTANCE.canBuild(this, block);
   }
 
+  /**
+   * @see ProtectionCache#canBuild(User, AABB)
+   */
+  default boolean canBuild(@NonNull AABB area) {
+    return ProtectionCache.INSTANCE.canBuild(this, area);
+  }
+
   /**
    * Attempt to find a possible block source that matches the given predicate.
    * @param range the max range to check
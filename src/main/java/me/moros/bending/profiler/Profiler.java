@@ -0,0 +1,158 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.profiler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+import me.moros.atlas.configurate.CommentedConfigurationNode;
+import me.moros.bending.Bending;
+import me.moros.bending.model.ability.description.AbilityDescription;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Low overhead instrumentation for the bending tick.
+ * Recording is a no-op unless the profiler is enabled in the config. All recording and snapshots happen on the main thread,
+ * only gauges may be backed by other threads.
+ * @see PrometheusExporter
+ */
+public enum Profiler {
+  INSTANCE;
+
+  private final Map<AbilityDescription, LatencyHistogram> abilities = new HashMap<>();
+  private final LatencyHistogram collisionPhase = new LatencyHistogram();
+  private final Map<String, IntSupplier> gauges = new ConcurrentHashMap<>();
+  private final PrometheusExporter exporter = new PrometheusExporter();
+
+  private boolean enabled;
+  private long collisionCandidates;
+  private long collisionHits;
+  private long tempBlocksCreated;
+  private long tempBlocksReverted;
+  private long startTime = System.currentTimeMillis();
+
+  /**
+   * Reload the profiler and exporter settings from the config.
+   */
+  public void reload() {
+    CommentedConfigurationNode node = Bending.configManager().config().node("profiler");
+    enabled = node.node("enabled").getBoolean(false);
+    exporter.reload(node.node("export"), enabled);
+  }
+
+  public void shutdown() {
+    exporter.shutdown();
+  }
+
+  public boolean enabled() {
+    return enabled;
+  }
+
+  /**
+   * @return the current time in nanoseconds if profiling is enabled, 0 otherwise
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : 0;
+  }
+
+  public void recordAbility(@NonNull AbilityDescription desc, long start) {
+    if (enabled) {
+      abilities.computeIfAbsent(desc, d -> new LatencyHistogram()).record(System.nanoTime() - start);
+    }
+  }
+
+  public void recordCollisionPhase(long start, int candidates, int hits) {
+    if (enabled) {
+      collisionPhase.record(System.nanoTime() - start);
+      collisionCandidates += candidates;
+      collisionHits += hits;
+    }
+  }
+
+  public void recordTempBlockCreated() {
+    if (enabled) {
+      tempBlocksCreated++;
+    }
+  }
+
+  public void recordTempBlockReverted() {
+    if (enabled) {
+      tempBlocksReverted++;
+    }
+  }
+
+  /**
+   * Register a gauge that is sampled whenever a snapshot is taken.
+   * @param name the metric name, it will be prefixed with "bending_" when exported
+   * @param gauge the supplier of the current value, it must be thread-safe
+   */
+  public void gauge(@NonNull String name, @NonNull IntSupplier gauge) {
+    gauges.put(name, gauge);
+  }
+
+  public void reset() {
+    abilities.values().forEach(LatencyHistogram::reset);
+    collisionPhase.reset();
+    collisionCandidates = 0;
+    collisionHits = 0;
+    tempBlocksCreated = 0;
+    tempBlocksReverted = 0;
+    startTime = System.currentTimeMillis();
+  }
+
+  /**
+   * Must be called on the main thread.
+   * @return a snapshot of all metrics with abilities sorted by their total update time
+   */
+  public @NonNull Snapshot snapshot() {
+    List<AbilityStats> stats = new ArrayList<>(abilities.size());
+    abilities.forEach((desc, histogram) -> stats.add(new AbilityStats(desc.name(), instances(desc), histogram.count(),
+      histogram.total(), histogram.percentile(50), histogram.percentile(99), histogram.max())));
+    stats.sort(Comparator.comparingLong(AbilityStats::total).reversed());
+    Map<String, Integer> gaugeValues = new HashMap<>();
+    gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsInt()));
+    return new Snapshot(System.currentTimeMillis() - startTime, List.copyOf(stats), collisionPhase.count(),
+      collisionPhase.total(), collisionPhase.percentile(99), collisionCandidates, collisionHits,
+      tempBlocksCreated, tempBlocksReverted, Map.copyOf(gaugeValues));
+  }
+
+  private static long instances(AbilityDescription desc) {
+    long count = 0;
+    for (World world : Bukkit.getWorlds()) {
+      count += Bending.game().abilityManager(world).instances(desc).count();
+    }
+    return count;
+  }
+
+  public record AbilityStats(@NonNull String name, long instances, long updates, long total, long p50, long p99, long max) {
+  }
+
+  public record Snapshot(long window, @NonNull List<@NonNull AbilityStats> abilities, long collisionTicks, long collisionTotal,
+                         long collisionP99, long collisionCandidates, long collisionHits, long tempBlocksCreated,
+                         long tempBlocksReverted, @NonNull Map<@NonNull String, @NonNull Integer> gauges) {
+  }
+}
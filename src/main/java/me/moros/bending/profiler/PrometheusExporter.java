@@ -0,0 +1,168 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.profiler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import me.moros.atlas.configurate.CommentedConfigurationNode;
+import me.moros.bending.Bending;
+import me.moros.bending.profiler.Profiler.AbilityStats;
+import me.moros.bending.profiler.Profiler.Snapshot;
+import me.moros.bending.util.Tasker;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Periodically exports profiler snapshots in the Prometheus text format to a file and/or a localhost http endpoint.
+ */
+final class PrometheusExporter {
+  private volatile String latest = "";
+  private BukkitTask task;
+  private HttpServer server;
+  private Path file;
+
+  void reload(@NonNull CommentedConfigurationNode node, boolean enabled) {
+    shutdown();
+    if (!enabled) {
+      return;
+    }
+    String fileName = node.node("file").getString("");
+    int port = node.node("port").getInt(0);
+    if (fileName.isEmpty() && port <= 0) {
+      return;
+    }
+    file = fileName.isEmpty() ? null : Bending.plugin().getDataFolder().toPath().resolve(fileName);
+    if (port > 0) {
+      try {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::handle);
+        server.start();
+      } catch (IOException e) {
+        Bending.logger().warn(e.getMessage(), e);
+        server = null;
+      }
+    }
+    long interval = Math.max(1, node.node("interval").getInt(15)) * 20L;
+    task = Tasker.repeatingTask(this::export, interval);
+  }
+
+  void shutdown() {
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+    if (server != null) {
+      server.stop(0);
+      server = null;
+    }
+  }
+
+  // Snapshots are taken on the main thread, writing the file happens async
+  private void export() {
+    latest = format(Profiler.INSTANCE.snapshot());
+    Path target = file;
+    if (target != null) {
+      String text = latest;
+      Tasker.async(() -> write(target, text));
+    }
+  }
+
+  private void write(Path target, String text) {
+    try {
+      Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+      Files.writeString(temp, text, StandardCharsets.UTF_8);
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      Bending.logger().warn(e.getMessage(), e);
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    byte[] body = latest.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  static @NonNull String format(@NonNull Snapshot snapshot) {
+    StringBuilder builder = new StringBuilder(4096);
+    header(builder, "bending_ability_update_seconds", "summary", "Ability update latency");
+    for (AbilityStats stats : snapshot.abilities()) {
+      String label = "ability=\"" + stats.name() + "\"";
+      sample(builder, "bending_ability_update_seconds{" + label + ",quantile=\"0.5\"}", seconds(stats.p50()));
+      sample(builder, "bending_ability_update_seconds{" + label + ",quantile=\"0.99\"}", seconds(stats.p99()));
+      sample(builder, "bending_ability_update_seconds{" + label + ",quantile=\"1\"}", seconds(stats.max()));
+      sample(builder, "bending_ability_update_seconds_sum{" + label + "}", seconds(stats.total()));
+      sample(builder, "bending_ability_update_seconds_count{" + label + "}", stats.updates());
+    }
+    header(builder, "bending_ability_instances", "gauge", "Active ability instances");
+    for (AbilityStats stats : snapshot.abilities()) {
+      sample(builder, "bending_ability_instances{ability=\"" + stats.name() + "\"}", stats.instances());
+    }
+    header(builder, "bending_collision_phase_seconds", "summary", "Collision phase latency");
+    sample(builder, "bending_collision_phase_seconds{quantile=\"0.99\"}", seconds(snapshot.collisionP99()));
+    sample(builder, "bending_collision_phase_seconds_sum", seconds(snapshot.collisionTotal()));
+    sample(builder, "bending_collision_phase_seconds_count", snapshot.collisionTicks());
+    header(builder, "bending_collision_candidates_total", "counter", "Collider pairs that passed the broad phase");
+    sample(builder, "bending_collision_candidates_total", snapshot.collisionCandidates());
+    header(builder, "bending_collision_hits_total", "counter", "Ability collisions");
+    sample(builder, "bending_collision_hits_total", snapshot.collisionHits());
+    header(builder, "bending_temp_blocks_created_total", "counter", "Temporary blocks created");
+    sample(builder, "bending_temp_blocks_created_total", snapshot.tempBlocksCreated());
+    header(builder, "bending_temp_blocks_reverted_total", "counter", "Temporary blocks reverted");
+    sample(builder, "bending_temp_blocks_reverted_total", snapshot.tempBlocksReverted());
+    for (Map.Entry<String, Integer> entry : snapshot.gauges().entrySet()) {
+      String name = "bending_" + entry.getKey();
+      header(builder, name, "gauge", entry.getKey().replace('_', ' '));
+      sample(builder, name, entry.getValue());
+    }
+    return builder.toString();
+  }
+
+  private static void header(StringBuilder builder, String name, String type, String help) {
+    builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void sample(StringBuilder builder, String name, double value) {
+    builder.append(name).append(' ').append(String.format(Locale.ROOT, "%.9f", value)).append('\n');
+  }
+
+  private static void sample(StringBuilder builder, String name, long value) {
+    builder.append(name).append(' ').append(value).append('\n');
+  }
+
+  private static double seconds(long nanos) {
+    return nanos / 1e9;
+  }
+}
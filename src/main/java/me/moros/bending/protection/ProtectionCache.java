@@ -19,27 +19,41 @@
 
 package me.moros.bending.protection;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
-import me.moros.atlas.caffeine.cache.Cache;
-import me.moros.atlas.caffeine.cache.Caffeine;
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.math.FastMath;
+import me.moros.bending.model.math.Vector3d;
 import me.moros.bending.model.user.User;
+import me.moros.bending.protection.instances.Protection;
 import me.moros.bending.registry.Registries;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
  * A multi-layered cache used to check if a User can build in a specific block location.
+ * Results are first resolved per chunk section (16x16x16) using {@link Protection#canBuild(org.bukkit.entity.LivingEntity, World, AABB)}
+ * and only protections that can't give a uniform answer for a section are queried per block.
+ * Each user's results are stored in packed tables that expire 5000ms after they are created.
  * While this implementation is thread-safe it might be dangerous to use this async as the protection plugins
  * might not be thread-safe themselves and data is fetched from those when results aren't cached.
  */
 public enum ProtectionCache {
   INSTANCE;
 
-  private final Map<UUID, Cache<Block, Boolean>> cache;
+  private static final long EXPIRE_TIME = 5000;
+
+  private static final int ALLOW = 1;
+  private static final int DENY = 2;
+
+  private final Map<UUID, UserCache> cache;
 
   ProtectionCache() {
     cache = new ConcurrentHashMap<>();
@@ -56,33 +70,219 @@ public enum ProtectionCache {
   /**
    * Checks if a user can build at a block location. First it queries the cache.
    * If no result is found it computes it and adds it to the cache before returning the result.
-   * Harmless actions are automatically allowed if allowHarmless is configured
    * @param user the user to check
    * @param block the block to check
    * @return the result.
-   * @see #canBuildPostCache(User, Block)
    */
   public boolean canBuild(@NonNull User user, @NonNull Block block) {
-    UUID uuid = user.entity().getUniqueId();
-    return cache.computeIfAbsent(uuid, u -> buildCache()).get(block, b -> canBuildPostCache(user, b));
+    UserCache userCache = userCache(user);
+    synchronized (userCache) {
+      userCache.validate(block.getWorld());
+      return userCache.canBuild(user, block.getX(), block.getY(), block.getZ());
+    }
   }
 
   /**
-   * Checks if a user can build at a block location.
+   * Checks if a user can build in every block of the given collection.
    * @param user the user to check
-   * @param block the block to check
-   * @return true if all enabled protections allow it, false otherwise
+   * @param blocks the blocks to check
+   * @return true if the user can build in all blocks, false otherwise
+   */
+  public boolean canBuild(@NonNull User user, @NonNull Collection<@NonNull Block> blocks) {
+    UserCache userCache = userCache(user);
+    synchronized (userCache) {
+      for (Block block : blocks) {
+        userCache.validate(block.getWorld());
+        if (!userCache.canBuild(user, block.getX(), block.getY(), block.getZ())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if a user can build in every block that the given area overlaps in the user's world.
+   * Sections that are uniformly allowed or denied are resolved without checking individual blocks.
+   * @param user the user to check
+   * @param area the area to check
+   * @return true if the user can build in the whole area, false otherwise
    */
-  private boolean canBuildPostCache(User user, Block block) {
-    return Registries.PROTECTIONS.stream().allMatch(m -> m.canBuild(user.entity(), block));
+  public boolean canBuild(@NonNull User user, @NonNull AABB area) {
+    int x1 = FastMath.floor(area.min.getX());
+    int y1 = FastMath.floor(area.min.getY());
+    int z1 = FastMath.floor(area.min.getZ());
+    int x2 = FastMath.ceil(area.max.getX()) - 1;
+    int y2 = FastMath.ceil(area.max.getY()) - 1;
+    int z2 = FastMath.ceil(area.max.getZ()) - 1;
+    UserCache userCache = userCache(user);
+    synchronized (userCache) {
+      userCache.validate(user.world());
+      for (int sx = x1 >> 4; sx <= x2 >> 4; sx++) {
+        for (int sz = z1 >> 4; sz <= z2 >> 4; sz++) {
+          for (int sy = y1 >> 4; sy <= y2 >> 4; sy++) {
+            int state = userCache.section(user, sx, sy, sz);
+            if (state == DENY) {
+              return false;
+            } else if (state != ALLOW) {
+              for (int x = Math.max(x1, sx << 4); x <= Math.min(x2, (sx << 4) + 15); x++) {
+                for (int z = Math.max(z1, sz << 4); z <= Math.min(z2, (sz << 4) + 15); z++) {
+                  for (int y = Math.max(y1, sy << 4); y <= Math.min(y2, (sy << 4) + 15); y++) {
+                    if (!userCache.canBuild(user, x, y, z)) {
+                      return false;
+                    }
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  private UserCache userCache(User user) {
+    return cache.computeIfAbsent(user.entity().getUniqueId(), u -> new UserCache());
+  }
+
+  private static final class UserCache {
+    private final LongIntMap sections = new LongIntMap();
+    private final LongIntMap blocks = new LongIntMap();
+    private List<Protection> protections = List.of();
+    private World world;
+    private long expireTime;
+
+    // Resets all results if they have expired or the user has changed worlds
+    private void validate(World world) {
+      long time = System.currentTimeMillis();
+      if (world != this.world || time > expireTime) {
+        sections.clear();
+        blocks.clear();
+        protections = new ArrayList<>();
+        Registries.PROTECTIONS.forEach(protections::add);
+        this.world = world;
+        expireTime = time + EXPIRE_TIME;
+      }
+    }
+
+    private boolean canBuild(User user, int x, int y, int z) {
+      int state = section(user, x >> 4, y >> 4, z >> 4);
+      if (state == ALLOW || state == DENY) {
+        return state == ALLOW;
+      }
+      long key = packBlock(x, y, z);
+      int result = blocks.get(key);
+      if (result == 0) {
+        result = computeBlock(user, world.getBlockAt(x, y, z), state >> 2);
+        blocks.put(key, result);
+      }
+      return result == ALLOW;
+    }
+
+    // Returns ALLOW, DENY or the mask of protections that need to be queried per block shifted by 2
+    private int section(User user, int sx, int sy, int sz) {
+      long key = packSection(sx, sy, sz);
+      int state = sections.get(key);
+      if (state == 0) {
+        state = computeSection(user, sx, sy, sz);
+        sections.put(key, state);
+      }
+      return state;
+    }
+
+    private int computeSection(User user, int sx, int sy, int sz) {
+      Vector3d min = new Vector3d(sx << 4, sy << 4, sz << 4);
+      AABB area = new AABB(min, min.add(new Vector3d(16, 16, 16)));
+      int mask = 0;
+      for (int i = 0; i < protections.size(); i++) {
+        switch (protections.get(i).canBuild(user.entity(), world, area)) {
+          case DENY:
+            return DENY;
+          case MIXED:
+            mask |= 1 << i;
+            break;
+          default:
+            break;
+        }
+      }
+      return mask == 0 ? ALLOW : mask << 2;
+    }
+
+    private int computeBlock(User user, Block block, int mask) {
+      for (int i = 0; i < protections.size(); i++) {
+        if ((mask & (1 << i)) != 0 && !protections.get(i).canBuild(user.entity(), block)) {
+          return DENY;
+        }
+      }
+      return ALLOW;
+    }
+
+    private static long packBlock(int x, int y, int z) {
+      return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | (y & 0xFFFL);
+    }
+
+    private static long packSection(int x, int y, int z) {
+      return ((x & 0x3FFFFFL) << 42) | ((z & 0x3FFFFFL) << 20) | (y & 0xFFFFFL);
+    }
   }
 
   /**
-   * Creates a block cache in which entries expire 5000ms after their last access time.
-   * @return the created cache
-   * @see Caffeine
+   * Open addressing map from packed positions to non zero int values.
    */
-  private static Cache<Block, Boolean> buildCache() {
-    return Caffeine.newBuilder().expireAfterAccess(Duration.ofMillis(5000)).build();
+  private static final class LongIntMap {
+    private long[] keys = new long[64];
+    private int[] values = new int[64];
+    private int size;
+
+    private int get(long key) {
+      int mask = keys.length - 1;
+      for (int slot = hash(key) & mask; values[slot] != 0; slot = (slot + 1) & mask) {
+        if (keys[slot] == key) {
+          return values[slot];
+        }
+      }
+      return 0;
+    }
+
+    private void put(long key, int value) {
+      if (2 * (size + 1) > keys.length) {
+        resize();
+      }
+      int mask = keys.length - 1;
+      int slot = hash(key) & mask;
+      while (values[slot] != 0 && keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      if (values[slot] == 0) {
+        size++;
+      }
+      keys[slot] = key;
+      values[slot] = value;
+    }
+
+    private void resize() {
+      long[] oldKeys = keys;
+      int[] oldValues = values;
+      keys = new long[oldKeys.length << 1];
+      values = new int[oldValues.length << 1];
+      size = 0;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldValues[i] != 0) {
+          put(oldKeys[i], oldValues[i]);
+        }
+      }
+    }
+
+    private void clear() {
+      if (size > 0) {
+        Arrays.fill(values, 0);
+        size = 0;
+      }
+    }
+
+    private static int hash(long key) {
+      return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+    }
   }
 }
@@ -19,8 +19,11 @@
 
 package me.moros.bending.protection.instances;
 
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.math.FastMath;
 import me.ryanhamshire.GriefPrevention.Claim;
 import me.ryanhamshire.GriefPrevention.GriefPrevention;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -43,4 +46,21 @@ public final class GriefPreventionProtection implements Protection {
     }
     return true;
   }
+
+  @Override
+  public @NonNull AreaResult canBuild(@NonNull LivingEntity entity, @NonNull World world, @NonNull AABB area) {
+    if (entity instanceof Player) {
+      int maxX = (FastMath.ceil(area.max.getX()) - 1) >> 4;
+      int maxZ = (FastMath.ceil(area.max.getZ()) - 1) >> 4;
+      for (int x = FastMath.floor(area.min.getX()) >> 4; x <= maxX; x++) {
+        for (int z = FastMath.floor(area.min.getZ()) >> 4; z <= maxZ; z++) {
+          if (!griefPrevention.dataStore.getClaims(x, z).isEmpty()) {
+            return AreaResult.MIXED;
+          }
+        }
+      }
+    }
+    // Building is only restricted inside claims
+    return AreaResult.ALLOW;
+  }
 }
@@ -19,6 +19,8 @@
 
 package me.moros.bending.protection.instances;
 
+import me.moros.bending.model.collision.geometry.AABB;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -26,4 +28,18 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 @FunctionalInterface
 public interface Protection {
   boolean canBuild(@NonNull LivingEntity entity, @NonNull Block block);
+
+  /**
+   * Checks if the entity can build in every block of the given area.
+   * Implementations should only return a definite result when it applies to all blocks in the area.
+   * @param entity the entity to check
+   * @param world the world of the area
+   * @param area the block aligned area to check
+   * @return the result for the whole area or {@link AreaResult#MIXED} if blocks need to be checked individually
+   */
+  default @NonNull AreaResult canBuild(@NonNull LivingEntity entity, @NonNull World world, @NonNull AABB area) {
+    return AreaResult.MIXED;
+  }
+
+  enum AreaResult {ALLOW, DENY, MIXED}
 }
@@ -30,7 +30,10 @@ import com.palmergames.bukkit.towny.object.WorldCoord;
 import com.palmergames.bukkit.towny.utils.PlayerCacheUtil;
 import com.palmergames.bukkit.towny.war.eventwar.WarUtil;
 import com.palmergames.bukkit.towny.war.flagwar.FlagWar;
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.math.FastMath;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -71,4 +74,22 @@ public final class TownyProtection implements Protection {
     TownBlock townBlock = api.getTownBlock(block.getLocation());
     return townBlock == null || !townBlock.hasTown();
   }
+
+  @Override
+  public @NonNull AreaResult canBuild(@NonNull LivingEntity entity, @NonNull World world, @NonNull AABB area) {
+    // War checks depend on the exact block so they are always resolved individually
+    if (api.isWarTime()) {
+      return AreaResult.MIXED;
+    }
+    int x = FastMath.floor(area.min.getX());
+    int z = FastMath.floor(area.min.getZ());
+    Coord min = Coord.parseCoord(x, z);
+    Coord max = Coord.parseCoord(FastMath.ceil(area.max.getX()) - 1, FastMath.ceil(area.max.getZ()) - 1);
+    if (!min.equals(max)) {
+      return AreaResult.MIXED;
+    }
+    // Permissions are the same for every block in a single town block column
+    Block block = world.getBlockAt(x, FastMath.floor(area.min.getY()), z);
+    return canBuild(entity, block) ? AreaResult.ALLOW : AreaResult.DENY;
+  }
 }
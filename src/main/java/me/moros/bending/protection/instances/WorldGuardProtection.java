@@ -20,6 +20,7 @@
 package me.moros.bending.protection.instances;
 
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.util.Location;
 import com.sk89q.worldedit.world.World;
 import com.sk89q.worldguard.LocalPlayer;
@@ -28,7 +29,11 @@ import com.sk89q.worldguard.bukkit.WorldGuardPlugin;
 import com.sk89q.worldguard.domains.Association;
 import com.sk89q.worldguard.protection.flags.Flags;
 import com.sk89q.worldguard.protection.flags.StateFlag;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
 import com.sk89q.worldguard.protection.regions.RegionQuery;
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.math.FastMath;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -62,4 +67,28 @@ public final class WorldGuardProtection implements Protection {
     // Query WorldGuard to see if a non-member (entity) can build in a region.
     return query.testState(location, list -> Association.NON_MEMBER, Flags.BUILD);
   }
+
+  @Override
+  public @NonNull AreaResult canBuild(@NonNull LivingEntity entity, org.bukkit.@NonNull World world, @NonNull AABB area) {
+    World adaptedWorld = BukkitAdapter.adapt(world);
+    if (entity instanceof Player player) {
+      LocalPlayer localPlayer = WorldGuardPlugin.inst().wrapPlayer(player);
+      if (worldGuard.getPlatform().getSessionManager().hasBypass(localPlayer, adaptedWorld)) {
+        return AreaResult.ALLOW;
+      }
+    }
+    int x = FastMath.floor(area.min.getX());
+    int y = FastMath.floor(area.min.getY());
+    int z = FastMath.floor(area.min.getZ());
+    RegionManager manager = worldGuard.getPlatform().getRegionContainer().get(adaptedWorld);
+    if (manager != null) {
+      BlockVector3 min = BlockVector3.at(x, y, z);
+      BlockVector3 max = BlockVector3.at(FastMath.ceil(area.max.getX()) - 1, FastMath.ceil(area.max.getY()) - 1, FastMath.ceil(area.max.getZ()) - 1);
+      if (manager.getApplicableRegions(new ProtectedCuboidRegion("bending-area", true, min, max)).size() > 0) {
+        return AreaResult.MIXED;
+      }
+    }
+    // Only the global region applies so a single query covers the whole area
+    return canBuild(entity, world.getBlockAt(x, y, z)) ? AreaResult.ALLOW : AreaResult.DENY;
+  }
 }
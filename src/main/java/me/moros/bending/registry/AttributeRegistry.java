@@ -26,6 +26,7 @@ import java.util.stream.Stream;
 
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
+import me.moros.bending.Bending;
 import me.moros.bending.model.attribute.AttributeModifier;
 import me.moros.bending.model.user.User;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -40,10 +41,12 @@ public final class AttributeRegistry implements Registry<AttributeModifier> {
 
   public void add(@NonNull User user, @NonNull AttributeModifier modifier) {
     modifierMap.put(user.entity().getUniqueId(), modifier);
+    Bending.configManager().invalidate(user);
   }
 
   public void invalidate(@NonNull User user) {
     modifierMap.removeAll(user.entity().getUniqueId());
+    Bending.configManager().invalidate(user);
   }
 
   public boolean contains(@NonNull User user) {
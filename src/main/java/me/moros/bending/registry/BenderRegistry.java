@@ -21,16 +21,22 @@ package me.moros.bending.registry;
 
 import java.time.Duration;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import me.moros.atlas.caffeine.cache.AsyncLoadingCache;
+import me.moros.atlas.caffeine.cache.CacheLoader;
 import me.moros.atlas.caffeine.cache.Caffeine;
 import me.moros.bending.Bending;
 import me.moros.bending.model.user.BendingPlayer;
@@ -63,7 +69,7 @@ public final class BenderRegistry implements Registry<User> {
   public void init(@NonNull BendingStorage storage) {
     if (cache == null) {
       Objects.requireNonNull(storage);
-      cache = Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofMinutes(2)).buildAsync(storage::createProfile);
+      cache = Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofMinutes(2)).buildAsync(new ProfileLoader(storage));
     }
   }
 
@@ -132,6 +138,67 @@ public final class BenderRegistry implements Registry<User> {
     return new UserIterator(players.values().iterator(), entities.values().iterator());
   }
 
+  /**
+   * Loads profiles in bulk. Single loads that arrive within a short window are coalesced and loaded together.
+   */
+  private static final class ProfileLoader implements CacheLoader<UUID, Entry<PlayerProfile, BenderData>> {
+    private static final long BATCH_WINDOW = 20; // ms
+
+    private final BendingStorage storage;
+    private Map<UUID, CompletableFuture<Entry<PlayerProfile, BenderData>>> pending;
+
+    private ProfileLoader(BendingStorage storage) {
+      this.storage = storage;
+      this.pending = new HashMap<>();
+    }
+
+    @Override
+    public @NonNull Entry<PlayerProfile, BenderData> load(@NonNull UUID key) {
+      return storage.createProfile(key);
+    }
+
+    @Override
+    public @NonNull Map<UUID, Entry<PlayerProfile, BenderData>> loadAll(@NonNull Set<? extends UUID> keys) {
+      return storage.createProfiles(List.copyOf(keys));
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Entry<PlayerProfile, BenderData>> asyncLoad(@NonNull UUID key, @NonNull Executor executor) {
+      CompletableFuture<Entry<PlayerProfile, BenderData>> future = new CompletableFuture<>();
+      synchronized (this) {
+        pending.put(key, future);
+        if (pending.size() == 1) {
+          CompletableFuture.delayedExecutor(BATCH_WINDOW, TimeUnit.MILLISECONDS, executor).execute(this::flush);
+        }
+      }
+      return future;
+    }
+
+    private void flush() {
+      Map<UUID, CompletableFuture<Entry<PlayerProfile, BenderData>>> batch;
+      synchronized (this) {
+        batch = pending;
+        pending = new HashMap<>();
+      }
+      try {
+        Map<UUID, Entry<PlayerProfile, BenderData>> result = loadAll(batch.keySet());
+        batch.forEach((uuid, future) -> future.complete(result.get(uuid)));
+      } catch (Exception e) {
+        // Retry separately so a single failing profile doesn't fail the whole batch
+        Bending.logger().warn("Failed to load " + batch.size() + " profiles in bulk, loading them one by one.", e);
+        batch.forEach(this::loadSingle);
+      }
+    }
+
+    private void loadSingle(UUID uuid, CompletableFuture<Entry<PlayerProfile, BenderData>> future) {
+      try {
+        future.complete(load(uuid));
+      } catch (Exception e) {
+        future.completeExceptionally(e);
+      }
+    }
+  }
+
   private record UserIterator(Iterator<BendingPlayer> first, Iterator<BendingUser> second) implements Iterator<User> {
     @Override
     public boolean hasNext() {
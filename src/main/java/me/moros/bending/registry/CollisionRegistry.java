@@ -19,20 +19,44 @@
 
 package me.moros.bending.registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import me.moros.bending.model.ability.description.AbilityDescription;
 import me.moros.bending.model.collision.RegisteredCollision;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+/**
+ * Holds all the registered collisions for the current session.
+ * Registered collisions are compiled into a dense matrix indexed by the collision index of each ability.
+ * Each matrix cell holds packed flags from the perspective of the row ability.
+ * @see #index(AbilityDescription)
+ * @see #flags(int, int)
+ */
 public final class CollisionRegistry implements Registry<RegisteredCollision> {
+  public static final int COLLIDES = 1;
+  public static final int REMOVE_FIRST = 1 << 1;
+  public static final int REMOVE_SECOND = 1 << 2;
+
   private final Set<RegisteredCollision> collisions;
+  private final Map<AbilityDescription, Integer> indices;
+  private final List<AbilityDescription> descriptions;
+  private byte[] matrix;
+  private boolean dirty;
 
   CollisionRegistry() {
     collisions = new HashSet<>();
+    indices = new HashMap<>();
+    descriptions = new ArrayList<>();
+    matrix = new byte[0];
+    dirty = false;
   }
 
   public boolean contains(@NonNull RegisteredCollision collision) {
@@ -50,11 +74,103 @@ public final class CollisionRegistry implements Registry<RegisteredCollision> {
   }
 
   public boolean register(@NonNull RegisteredCollision collision) {
-    return collisions.add(collision);
+    if (collisions.add(collision)) {
+      dirty = true;
+      return true;
+    }
+    return false;
   }
 
   public boolean unregister(@NonNull RegisteredCollision collision) {
-    return collisions.remove(collision);
+    if (collisions.remove(collision)) {
+      dirty = true;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * @return the amount of distinct abilities that take part in at least one registered collision
+   */
+  public int size() {
+    compile();
+    return descriptions.size();
+  }
+
+  /**
+   * @param desc the ability description to check
+   * @return the collision index of the given ability or -1 if it cannot collide with any other ability
+   */
+  public int index(@NonNull AbilityDescription desc) {
+    compile();
+    Integer index = indices.get(desc);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * @param index the collision index
+   * @return the ability description with the specified collision index
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @see #size()
+   */
+  public @NonNull AbilityDescription description(int index) {
+    compile();
+    return descriptions.get(index);
+  }
+
+  /**
+   * Get the packed collision flags between 2 abilities.
+   * The remove flags are oriented so that the ability with the first index is treated as the first ability.
+   * @param first the collision index of the first ability
+   * @param second the collision index of the second ability
+   * @return the packed flags or 0 if the abilities cannot collide
+   * @see #COLLIDES
+   * @see #REMOVE_FIRST
+   * @see #REMOVE_SECOND
+   */
+  public int flags(int first, int second) {
+    compile();
+    return matrix[first * descriptions.size() + second];
+  }
+
+  private void compile() {
+    if (!dirty) {
+      return;
+    }
+    indices.clear();
+    descriptions.clear();
+    for (RegisteredCollision collision : collisions) {
+      indexOf(collision.first());
+      indexOf(collision.second());
+    }
+    int size = descriptions.size();
+    matrix = new byte[size * size];
+    for (RegisteredCollision collision : collisions) {
+      int first = indices.get(collision.first());
+      int second = indices.get(collision.second());
+      // Self pairs share a single cell so both orientations are merged
+      matrix[first * size + second] |= pack(collision.removeFirst(), collision.removeSecond());
+      matrix[second * size + first] |= pack(collision.removeSecond(), collision.removeFirst());
+    }
+    dirty = false;
+  }
+
+  private void indexOf(AbilityDescription desc) {
+    if (!indices.containsKey(desc)) {
+      indices.put(desc, descriptions.size());
+      descriptions.add(desc);
+    }
+  }
+
+  private static byte pack(boolean removeFirst, boolean removeSecond) {
+    int flags = COLLIDES;
+    if (removeFirst) {
+      flags |= REMOVE_FIRST;
+    }
+    if (removeSecond) {
+      flags |= REMOVE_SECOND;
+    }
+    return (byte) flags;
   }
 
   public @NonNull Iterator<RegisteredCollision> iterator() {
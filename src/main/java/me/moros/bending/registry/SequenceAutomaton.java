@@ -0,0 +1,148 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.registry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import me.moros.bending.model.ability.Activation;
+import me.moros.bending.model.ability.description.AbilityDescription;
+import me.moros.bending.model.ability.description.AbilityDescription.Sequence;
+import me.moros.bending.model.ability.description.SequenceStep;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * An Aho-Corasick automaton over {@link SequenceStep} that matches all registered sequences at once.
+ * Each state represents the longest suffix of the performed steps that is a prefix of some sequence,
+ * so advancing a state is a single table lookup and requires no allocation.
+ * Instances are immutable and thread-safe.
+ */
+public final class SequenceAutomaton {
+  public static final int START = 0;
+
+  private static final int ACTIVATIONS = Activation.values().length;
+
+  private final Map<AbilityDescription, int[]> symbols;
+  private final int[][] transitions;
+  private final List<List<Sequence>> outputs;
+
+  SequenceAutomaton(@NonNull Collection<@NonNull Sequence> sequences, int maxLength) {
+    symbols = new HashMap<>();
+    List<Sequence> valid = new ArrayList<>();
+    int symbolCount = 0;
+    for (Sequence sequence : sequences) {
+      if (sequence.steps().isEmpty() || sequence.steps().size() > maxLength) {
+        continue;
+      }
+      valid.add(sequence);
+      for (SequenceStep step : sequence.steps()) {
+        int[] row = symbols.computeIfAbsent(step.ability(), d -> filled(ACTIVATIONS));
+        if (row[step.activation().ordinal()] < 0) {
+          row[step.activation().ordinal()] = symbolCount++;
+        }
+      }
+    }
+    // Build the trie
+    List<int[]> trie = new ArrayList<>();
+    List<List<Sequence>> ends = new ArrayList<>();
+    trie.add(filled(symbolCount));
+    ends.add(new ArrayList<>());
+    for (Sequence sequence : valid) {
+      int state = START;
+      for (SequenceStep step : sequence.steps()) {
+        int symbol = symbols.get(step.ability())[step.activation().ordinal()];
+        if (trie.get(state)[symbol] < 0) {
+          trie.get(state)[symbol] = trie.size();
+          trie.add(filled(symbolCount));
+          ends.add(new ArrayList<>());
+        }
+        state = trie.get(state)[symbol];
+      }
+      ends.get(state).add(sequence);
+    }
+    // Breadth first pass to compute failure links, complete the transition table and merge outputs
+    transitions = trie.toArray(int[][]::new);
+    int[] fail = new int[transitions.length];
+    List<List<Sequence>> merged = new ArrayList<>(transitions.length);
+    for (int i = 0; i < transitions.length; i++) {
+      merged.add(List.of());
+    }
+    Queue<Integer> queue = new ArrayDeque<>();
+    for (int symbol = 0; symbol < symbolCount; symbol++) {
+      int child = transitions[START][symbol];
+      if (child < 0) {
+        transitions[START][symbol] = START;
+      } else {
+        fail[child] = START;
+        queue.add(child);
+      }
+    }
+    while (!queue.isEmpty()) {
+      int state = queue.poll();
+      // Longer sequences come first as the failure state holds shorter suffixes
+      List<Sequence> result = new ArrayList<>(ends.get(state));
+      result.addAll(merged.get(fail[state]));
+      merged.set(state, List.copyOf(result));
+      for (int symbol = 0; symbol < symbolCount; symbol++) {
+        int child = transitions[state][symbol];
+        if (child < 0) {
+          transitions[state][symbol] = transitions[fail[state]][symbol];
+        } else {
+          fail[child] = transitions[fail[state]][symbol];
+          queue.add(child);
+        }
+      }
+    }
+    outputs = List.copyOf(merged);
+  }
+
+  /**
+   * Advance the automaton with the given step.
+   * @param state the current state
+   * @param desc the ability of the performed step
+   * @param action the activation of the performed step
+   * @return the next state
+   */
+  public int next(int state, @NonNull AbilityDescription desc, @NonNull Activation action) {
+    int[] row = symbols.get(desc);
+    int symbol = row == null ? -1 : row[action.ordinal()];
+    return symbol < 0 ? START : transitions[state][symbol];
+  }
+
+  /**
+   * @param state the current state
+   * @return an immutable list of the sequences that are completed in the given state, longest first
+   */
+  public @NonNull List<@NonNull Sequence> matches(int state) {
+    return outputs.get(state);
+  }
+
+  private static int[] filled(int size) {
+    int[] array = new int[size];
+    Arrays.fill(array, -1);
+    return array;
+  }
+}
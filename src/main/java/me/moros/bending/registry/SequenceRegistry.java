@@ -35,7 +35,13 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  * Holds all the registered AbilityDescriptions for the current session.
  */
 public final class SequenceRegistry implements Registry<Sequence> {
+  /**
+   * The maximum amount of steps a sequence can have.
+   */
+  public static final int MAX_STEPS = 16;
+
   private final Set<Sequence> sequences;
+  private volatile SequenceAutomaton automaton;
 
   SequenceRegistry() {
     sequences = ConcurrentHashMap.newKeySet();
@@ -68,6 +74,7 @@ public final class SequenceRegistry implements Registry<Sequence> {
       if (sequence.steps().stream().map(SequenceStep::ability).allMatch(Registries.ABILITIES::contains)) {
         Registries.ABILITIES.register(sequence);
         sequences.add(sequence);
+        automaton = null;
         return true;
       } else {
         Bending.logger().warn(sequence.name() + " sequence will be disabled as it requires an invalid ability to activate.");
@@ -76,6 +83,19 @@ public final class SequenceRegistry implements Registry<Sequence> {
     return false;
   }
 
+  /**
+   * The automaton is compiled lazily and replaced every time a new sequence is registered.
+   * @return an automaton that matches all registered sequences
+   */
+  public @NonNull SequenceAutomaton automaton() {
+    SequenceAutomaton result = automaton;
+    if (result == null) {
+      result = new SequenceAutomaton(sequences, MAX_STEPS);
+      automaton = result;
+    }
+    return result;
+  }
+
   public boolean contains(@NonNull Sequence sequence) {
     return sequences.contains(sequence);
   }
@@ -19,6 +19,8 @@
 
 package me.moros.bending.storage;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -39,6 +41,10 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public interface BendingStorage extends Storage {
   @NonNull Entry<PlayerProfile, BenderData> createProfile(@NonNull UUID uuid);
 
+  @NonNull Map<UUID, Entry<PlayerProfile, BenderData>> createProfiles(@NonNull Collection<UUID> uuids);
+
+  @NonNull Map<UUID, Entry<PlayerProfile, BenderData>> loadProfiles(@NonNull Collection<UUID> uuids);
+
   @NonNull CompletableFuture<@Nullable Entry<PlayerProfile, BenderData>> loadProfileAsync(@NonNull UUID uuid);
 
   void savePlayerAsync(@NonNull BendingPlayer bendingPlayer);
@@ -0,0 +1,58 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.storage;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Immutable bidirectional mapping between names and database ids of a lookup table.
+ */
+final class IdDictionary {
+  static final IdDictionary EMPTY = new IdDictionary(Map.of());
+
+  private final Map<String, Integer> ids;
+  private final Map<Integer, String> names;
+
+  IdDictionary(@NonNull Map<String, Integer> entries) {
+    ids = Map.copyOf(entries);
+    Map<Integer, String> inverse = new HashMap<>(entries.size() * 2);
+    entries.forEach((name, id) -> inverse.put(id, name));
+    names = Map.copyOf(inverse);
+  }
+
+  /**
+   * @return the id for the given name or 0 if it is unknown
+   */
+  int id(@Nullable String name) {
+    return name == null ? 0 : ids.getOrDefault(name, 0);
+  }
+
+  @Nullable String name(int id) {
+    return names.get(id);
+  }
+
+  int size() {
+    return ids.size();
+  }
+}
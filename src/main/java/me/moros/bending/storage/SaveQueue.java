@@ -0,0 +1,205 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.storage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import me.moros.bending.model.Element;
+import me.moros.bending.model.user.BendingPlayer;
+import me.moros.bending.profiler.Profiler;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Write-behind queue for player data.
+ * Saves are snapshotted on the calling thread and coalesced per player so only the latest state is written.
+ * Pending saves are drained by a single worker in batches, each batch being written in one transaction.
+ * Batches are written under a lock, so a drain on another thread never overlaps the worker.
+ * If a batch fails its players are written one by one, and saves that still fail are queued again a bounded number
+ * of times unless a newer save for the same player arrived in the meantime.
+ */
+final class SaveQueue {
+  private static final int MAX_ATTEMPTS = 3;
+
+  private final Map<Integer, PlayerData> pending;
+  private final Map<Integer, Integer> attempts;
+  private final Predicate<Collection<PlayerData>> writer;
+  private final Logger logger;
+  private final ThreadPoolExecutor executor;
+  private final AtomicBoolean draining;
+  private final Object writeLock = new Object();
+  private final int batchSize;
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder written = new LongAdder();
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder retried = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+
+  SaveQueue(@NonNull Predicate<Collection<PlayerData>> writer, @NonNull Logger logger, int batchSize) {
+    this.writer = writer;
+    this.logger = logger;
+    this.batchSize = Math.max(1, batchSize);
+    pending = new ConcurrentHashMap<>();
+    attempts = new HashMap<>(); // Guarded by writeLock
+    draining = new AtomicBoolean();
+    // Drains are coalesced so at most one is queued; once shut down, late saves are written on the submitting thread
+    executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+      r -> new Thread(r, "Bending Storage Writer"), (task, pool) -> {
+        logger.warn("Storage writer is shut down, writing pending saves on " + Thread.currentThread().getName() + ".");
+        task.run();
+      });
+    Profiler.INSTANCE.gauge("storage_queue_depth", pending::size);
+  }
+
+  /**
+   * Queue a save for the given player, replacing any older save for the same player that hasn't been written yet.
+   * @param player the player to save
+   */
+  void offer(@NonNull BendingPlayer player) {
+    PlayerData data = PlayerData.of(player);
+    submitted.increment();
+    if (pending.put(data.id(), data) != null) {
+      coalesced.increment();
+    }
+    schedule();
+  }
+
+  private void schedule() {
+    if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+      executor.execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    try {
+      writePending();
+    } finally {
+      draining.set(false);
+    }
+    schedule(); // Catch saves that arrived after the last batch was taken
+  }
+
+  private void writePending() {
+    synchronized (writeLock) {
+      List<PlayerData> batch = new ArrayList<>(batchSize);
+      while (poll(batch)) {
+        if (writer.test(batch)) {
+          onWritten(batch);
+        } else if (batch.size() == 1) {
+          onFailed(batch.get(0));
+        } else {
+          // Isolate the players that can't be written so they don't cost the rest of the batch their saves
+          for (PlayerData data : batch) {
+            List<PlayerData> single = List.of(data);
+            if (writer.test(single)) {
+              onWritten(single);
+            } else {
+              onFailed(data);
+            }
+          }
+        }
+        batches.increment();
+        batch.clear();
+      }
+    }
+  }
+
+  private void onWritten(List<PlayerData> batch) {
+    written.add(batch.size());
+    if (!attempts.isEmpty()) {
+      batch.forEach(data -> attempts.remove(data.id()));
+    }
+  }
+
+  private void onFailed(PlayerData data) {
+    int attempt = attempts.merge(data.id(), 1, Integer::sum);
+    if (attempt >= MAX_ATTEMPTS) {
+      attempts.remove(data.id());
+      failed.increment();
+      logger.warn("Dropped save for player " + data.id() + " after " + attempt + " failed attempts.");
+    } else if (pending.putIfAbsent(data.id(), data) == null) {
+      retried.increment();
+    } else {
+      coalesced.increment(); // A newer save was queued while this one was being written
+    }
+  }
+
+  private boolean poll(List<PlayerData> batch) {
+    Iterator<PlayerData> it = pending.values().iterator();
+    while (batch.size() < batchSize && it.hasNext()) {
+      batch.add(it.next());
+      it.remove();
+    }
+    return !batch.isEmpty();
+  }
+
+  /**
+   * Stop accepting work and block until every pending save has been written.
+   */
+  void flush() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+        logger.warn("Storage writer is still busy, waiting for its current batch before writing the rest.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    writePending(); // Blocks on the write lock while the worker finishes a batch instead of interrupting it
+    Stats stats = stats();
+    logger.info("Storage writer: " + stats.written() + " saves written in " + stats.batches() + " batches ("
+      + stats.coalesced() + " coalesced, " + stats.retried() + " retried, " + stats.failed() + " failed).");
+  }
+
+  @NonNull Stats stats() {
+    return new Stats(submitted.sum(), coalesced.sum(), written.sum(), batches.sum(), retried.sum(), failed.sum(),
+      pending.size());
+  }
+
+  record Stats(long submitted, long coalesced, long written, long batches, long retried, long failed, int pending) {
+  }
+
+  /**
+   * Immutable snapshot of the player data that gets persisted.
+   */
+  record PlayerData(int id, boolean board, @NonNull List<@NonNull String> elements,
+                    @NonNull List<@Nullable String> slots) {
+    private static PlayerData of(BendingPlayer player) {
+      List<String> elements = player.elements().stream().map(Element::name).toList();
+      List<String> slots = player.createPresetFromSlots("").abilities();
+      return new PlayerData(player.id(), player.board(), elements, slots);
+    }
+  }
+}
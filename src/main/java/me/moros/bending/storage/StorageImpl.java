@@ -22,19 +22,22 @@ package me.moros.bending.storage;
 import java.io.InputStream;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
+import com.google.common.collect.Iterables;
 import me.moros.atlas.hikari.HikariDataSource;
+import me.moros.atlas.jdbi.v3.core.Handle;
 import me.moros.atlas.jdbi.v3.core.Jdbi;
 import me.moros.atlas.jdbi.v3.core.statement.Batch;
 import me.moros.atlas.jdbi.v3.core.statement.PreparedBatch;
@@ -47,6 +50,7 @@ import me.moros.bending.model.user.BendingPlayer;
 import me.moros.bending.model.user.PresetUser;
 import me.moros.bending.model.user.profile.BenderData;
 import me.moros.bending.model.user.profile.PlayerProfile;
+import me.moros.bending.storage.SaveQueue.PlayerData;
 import me.moros.bending.storage.sql.SqlQueries;
 import me.moros.bending.util.Tasker;
 import me.moros.storage.SqlStreamReader;
@@ -56,17 +60,23 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 
 public final class StorageImpl implements BendingStorage {
+  private static final int LOAD_CHUNK_SIZE = 256;
   private static final BenderData EMPTY = new BenderData(new String[9], Set.of(), Set.of());
   private final HikariDataSource source;
   private final StorageType type;
   private final Logger logger;
   private final Jdbi DB;
+  private final SaveQueue saveQueue;
+  private volatile IdDictionary abilityIds = IdDictionary.EMPTY;
+  private volatile IdDictionary elementIds = IdDictionary.EMPTY;
 
   StorageImpl(@NonNull StorageType type, @NonNull Logger logger, @NonNull HikariDataSource source) {
     this.type = type;
     this.logger = logger;
     this.source = source;
     DB = Jdbi.create(this.source);
+    int batchSize = Bending.configManager().config().node("storage", "batch-size").getInt(64);
+    saveQueue = new SaveQueue(this::savePlayers, logger, batchSize);
     if (!tableExists("bending_players")) {
       init();
     }
@@ -89,6 +99,7 @@ public final class StorageImpl implements BendingStorage {
 
   @Override
   public void close() {
+    saveQueue.flush();
     source.close();
   }
 
@@ -97,16 +108,28 @@ public final class StorageImpl implements BendingStorage {
    */
   @Override
   public @NonNull Entry<PlayerProfile, BenderData> createProfile(@NonNull UUID uuid) {
-    Entry<PlayerProfile, BenderData> entry = loadProfile(uuid);
-    if (entry == null) {
-      entry = DB.withHandle(handle -> {
-        int id = (int) handle.createUpdate(SqlQueries.PLAYER_INSERT.query()).bind(0, uuid)
-          .executeAndReturnGeneratedKeys().mapToMap().one().get("player_id");
-        PlayerProfile profile = new PlayerProfile(id);
-        return Map.entry(profile, EMPTY);
-      });
+    return createProfiles(List.of(uuid)).get(uuid);
+  }
+
+  /**
+   * Bulk version of {@link #createProfile(UUID)}.
+   * Existing profiles are loaded together and only the missing ones are inserted.
+   * If loading fails nothing is inserted and the exception is propagated, as the missing profiles might exist.
+   */
+  @Override
+  public @NonNull Map<UUID, Entry<PlayerProfile, BenderData>> createProfiles(@NonNull Collection<UUID> uuids) {
+    Map<UUID, Entry<PlayerProfile, BenderData>> result = new HashMap<>(fetchProfiles(uuids));
+    for (UUID uuid : uuids) {
+      if (!result.containsKey(uuid)) {
+        result.put(uuid, DB.withHandle(handle -> {
+          int id = (int) handle.createUpdate(SqlQueries.PLAYER_INSERT.query()).bind(0, uuid)
+            .executeAndReturnGeneratedKeys().mapToMap().one().get("player_id");
+          PlayerProfile profile = new PlayerProfile(id);
+          return Map.entry(profile, EMPTY);
+        }));
+      }
     }
-    return entry;
+    return result;
   }
 
   /**
@@ -115,20 +138,98 @@ public final class StorageImpl implements BendingStorage {
    * @see #createProfile(UUID)
    */
   public @NonNull CompletableFuture<@Nullable Entry<PlayerProfile, BenderData>> loadProfileAsync(@NonNull UUID uuid) {
-    return Tasker.async(() -> loadProfile(uuid));
+    return Tasker.async(() -> loadProfiles(List.of(uuid)).get(uuid));
   }
 
   /**
-   * Asynchronously saves the given bendingPlayer's data to the database.
+   * Loads all existing profiles for the given uuids.
+   * Profiles are fetched in chunks, each chunk needs one query per table regardless of its size.
+   * @param uuids the uuids of the players to load
+   * @return a map with the loaded profiles, uuids without a profile are not included and it is empty if loading failed
+   */
+  @Override
+  public @NonNull Map<UUID, Entry<PlayerProfile, BenderData>> loadProfiles(@NonNull Collection<UUID> uuids) {
+    try {
+      return fetchProfiles(uuids);
+    } catch (Exception e) {
+      logger.error(e.getMessage(), e);
+    }
+    return Map.of();
+  }
+
+  private Map<UUID, Entry<PlayerProfile, BenderData>> fetchProfiles(Collection<UUID> uuids) {
+    if (uuids.isEmpty()) {
+      return Map.of();
+    }
+    Map<UUID, Entry<PlayerProfile, BenderData>> result = new HashMap<>(uuids.size());
+    DB.useHandle(handle -> {
+      for (List<UUID> chunk : Iterables.partition(uuids, LOAD_CHUNK_SIZE)) {
+        loadChunk(handle, chunk, result);
+      }
+    });
+    return result;
+  }
+
+  private void loadChunk(Handle handle, List<UUID> uuids, Map<UUID, Entry<PlayerProfile, BenderData>> result) {
+    Map<Integer, ProfileBuilder> builders = new HashMap<>(uuids.size());
+    int size = uuids.size();
+    Query query = handle.createQuery(SqlQueries.playerSelectByUuids(size));
+    for (int i = 0; i < size; i++) {
+      query.bind(i, uuids.get(i)).bind(size + i, uuids.get(i));
+    }
+    // Rows are matched through the index of the bound uuid, so the stored encoding never has to be decoded
+    query.map((rs, ctx) -> {
+      int index = rs.getInt("uuid_index");
+      if (rs.wasNull() || index < 0 || index >= size) {
+        throw new SQLException("Loaded profile " + rs.getInt("player_id") + " for an unexpected uuid");
+      }
+      return new ProfileBuilder(uuids.get(index), rs.getInt("player_id"), rs.getBoolean("board"));
+    }).forEach(b -> builders.put(b.id, b));
+    if (builders.isEmpty()) {
+      return;
+    }
+    Set<Integer> ids = builders.keySet();
+    handle.createQuery(SqlQueries.PLAYER_SLOTS_SELECT_FOR_IDS.query()).bindList("ids", ids)
+      .scanResultSet((supplier, ctx) -> {
+        ResultSet rs = supplier.get();
+        while (rs.next()) {
+          readSlot(builders.get(rs.getInt("player_id")).slots, rs.getInt("slot"), rs.getInt("ability_id"), abilityIds);
+        }
+        return null;
+      });
+    handle.createQuery(SqlQueries.PLAYER_ELEMENTS_SELECT_FOR_IDS.query()).bindList("ids", ids)
+      .scanResultSet((supplier, ctx) -> {
+        ResultSet rs = supplier.get();
+        while (rs.next()) {
+          String name = elementIds.name(rs.getInt("element_id"));
+          if (name != null) {
+            builders.get(rs.getInt("player_id")).elements.add(name);
+          }
+        }
+        return null;
+      });
+    handle.createQuery(SqlQueries.PRESET_NAMES_SELECT_BY_PLAYER_IDS.query()).bindList("ids", ids)
+      .scanResultSet((supplier, ctx) -> {
+        ResultSet rs = supplier.get();
+        while (rs.next()) {
+          builders.get(rs.getInt("player_id")).presets.add(rs.getString("preset_name"));
+        }
+        return null;
+      });
+    for (ProfileBuilder builder : builders.values()) {
+      result.put(builder.uuid, builder.build());
+    }
+  }
+
+  /**
+   * Queues the given bendingPlayer's data to be saved to the database.
    * It updates the profile and stores the current elements and bound abilities.
+   * Repeated saves for the same player are coalesced until they are written.
    * @param bendingPlayer the BendingPlayer to save
+   * @see SaveQueue
    */
   public void savePlayerAsync(@NonNull BendingPlayer bendingPlayer) {
-    Tasker.async(() -> {
-      updateProfile(bendingPlayer);
-      saveElements(bendingPlayer);
-      saveSlots(bendingPlayer);
-    });
+    saveQueue.offer(bendingPlayer);
   }
 
   /**
@@ -145,6 +246,7 @@ public final class StorageImpl implements BendingStorage {
         }
         batch.execute();
       });
+      elementIds = loadDictionary(SqlQueries.ELEMENTS_SELECT_ALL, "element_id", "element_name");
       return true;
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
@@ -166,6 +268,7 @@ public final class StorageImpl implements BendingStorage {
         }
         batch.execute();
       });
+      abilityIds = loadDictionary(SqlQueries.ABILITIES_SELECT_ALL, "ability_id", "ability_name");
       return true;
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
@@ -188,9 +291,7 @@ public final class StorageImpl implements BendingStorage {
       return DB.withHandle(handle -> {
         Query query = handle.createQuery(SqlQueries.PRESET_SLOTS_SELECT_BY_ID.query()).bind(0, presetId);
         for (Map<String, Object> map : query.mapToMap()) {
-          int slot = (int) map.get("slot");
-          String abilityName = (String) map.get("ability_name");
-          abilities[slot - 1] = abilityName;
+          readSlot(abilities, (int) map.get("slot"), (int) map.get("ability_id"), abilityIds);
         }
         return new Preset(presetId, name, Arrays.asList(abilities));
       });
@@ -208,49 +309,59 @@ public final class StorageImpl implements BendingStorage {
     Tasker.async(() -> deletePreset(presetId));
   }
 
-  private Entry<PlayerProfile, BenderData> loadProfile(UUID uuid) {
-    try {
-      return DB.withHandle(handle -> {
-        Optional<Map<String, Object>> result = handle.createQuery(SqlQueries.PLAYER_SELECT_BY_UUID.query())
-          .bind(0, uuid).mapToMap().findOne();
-        if (result.isEmpty()) {
-          return null;
-        }
-        int id = (int) result.get().get("player_id");
-        boolean board = (boolean) result.get().getOrDefault("board", true);
-        PlayerProfile profile = new PlayerProfile(id, board);
-        BenderData data = new BenderData(getSlots(id), getElements(id), getPresets(id));
-        return Map.entry(profile, data);
-      });
-    } catch (Exception e) {
-      logger.error(e.getMessage(), e);
+  private boolean savePlayers(Collection<PlayerData> players) {
+    // Slots and elements are deleted before being reinserted, so never save a player the dictionaries can't resolve
+    Collection<PlayerData> toSave = resolvable(players);
+    if (toSave.size() < players.size()) {
+      abilityIds = loadDictionary(SqlQueries.ABILITIES_SELECT_ALL, "ability_id", "ability_name");
+      elementIds = loadDictionary(SqlQueries.ELEMENTS_SELECT_ALL, "element_id", "element_name");
+      toSave = resolvable(players);
     }
-    return null;
-  }
-
-  private boolean updateProfile(BendingPlayer player) {
-    try {
-      DB.useHandle(handle ->
-        handle.createUpdate(SqlQueries.PLAYER_UPDATE_BOARD_FOR_ID.query())
-          .bind(0, player.board()).bind(1, player.id()).execute()
-      );
-      return true;
-    } catch (Exception e) {
-      logger.error(e.getMessage(), e);
+    Collection<PlayerData> resolved = toSave;
+    if (resolved.size() < players.size()) {
+      Set<Integer> skipped = new HashSet<>();
+      players.forEach(data -> skipped.add(data.id()));
+      resolved.forEach(data -> skipped.remove(data.id()));
+      logger.warn("Skipped saving players " + skipped + " because some of their ability or element ids are unknown.");
+      if (resolved.isEmpty()) {
+        return true; // Nothing left to write, retrying won't resolve them either
+      }
     }
-    return false;
-  }
-
-  private boolean saveElements(BendingPlayer player) {
-    int id = player.id();
     try {
-      DB.useHandle(handle -> {
-        handle.createUpdate(SqlQueries.PLAYER_ELEMENTS_REMOVE_FOR_ID.query()).bind(0, id).execute();
-        PreparedBatch batch = handle.prepareBatch(SqlQueries.PLAYER_ELEMENTS_INSERT_FOR_NAME.query());
-        for (Element element : player.elements()) {
-          batch.bind(0, id).bind(1, element.name()).add();
+      DB.useTransaction(handle -> {
+        PreparedBatch profiles = handle.prepareBatch(SqlQueries.PLAYER_UPDATE_BOARD_FOR_ID.query());
+        PreparedBatch removeElements = handle.prepareBatch(SqlQueries.PLAYER_ELEMENTS_REMOVE_FOR_ID.query());
+        PreparedBatch removeSlots = handle.prepareBatch(SqlQueries.PLAYER_SLOTS_REMOVE_FOR_ID.query());
+        PreparedBatch elements = handle.prepareBatch(SqlQueries.PLAYER_ELEMENTS_INSERT_NEW.query());
+        PreparedBatch slots = handle.prepareBatch(SqlQueries.PLAYER_SLOTS_INSERT_NEW.query());
+        for (PlayerData data : resolved) {
+          int id = data.id();
+          profiles.bind(0, data.board()).bind(1, id).add();
+          removeElements.bind(0, id).add();
+          removeSlots.bind(0, id).add();
+          for (String element : data.elements()) {
+            int elementId = elementIds.id(element);
+            if (elementId != 0) {
+              elements.bind(0, elementId).bind(1, id).add();
+            }
+          }
+          int[] abilities = slotIds(data.slots(), abilityIds);
+          for (int slot = 0; slot < abilities.length; slot++) {
+            int abilityId = abilities[slot];
+            if (abilityId != 0) {
+              slots.bind(0, id).bind(1, slot + 1).bind(2, abilityId).add();
+            }
+          }
+        }
+        profiles.execute();
+        removeElements.execute();
+        removeSlots.execute();
+        if (elements.size() > 0) {
+          elements.execute();
+        }
+        if (slots.size() > 0) {
+          slots.execute();
         }
-        batch.execute();
       });
       return true;
     } catch (Exception e) {
@@ -259,27 +370,28 @@ public final class StorageImpl implements BendingStorage {
     return false;
   }
 
-  private boolean saveSlots(BendingPlayer player) {
-    int id = player.id();
-    List<String> abilities = player.createPresetFromSlots("").abilities();
-    try {
-      DB.useHandle(handle -> {
-        handle.createUpdate(SqlQueries.PLAYER_SLOTS_REMOVE_FOR_ID.query()).bind(0, id).execute();
-        PreparedBatch batch = handle.prepareBatch(SqlQueries.PLAYER_SLOTS_INSERT_NEW.query());
-        for (int slot = 0; slot < abilities.size(); slot++) {
-          int abilityId = getAbilityId(abilities.get(slot));
-          if (abilityId == 0) {
-            continue;
-          }
-          batch.bind(0, id).bind(1, slot + 1).bind(2, abilityId).add();
-        }
-        batch.execute();
-      });
-      return true;
-    } catch (Exception e) {
-      logger.warn(e.getMessage(), e);
+  private Collection<PlayerData> resolvable(Collection<PlayerData> players) {
+    List<PlayerData> result = new ArrayList<>(players.size());
+    for (PlayerData data : players) {
+      if (resolvable(data)) {
+        result.add(data);
+      }
     }
-    return false;
+    return result;
+  }
+
+  private boolean resolvable(PlayerData data) {
+    for (String element : data.elements()) {
+      if (elementIds.id(element) == 0) {
+        return false;
+      }
+    }
+    for (String ability : data.slots()) {
+      if (ability != null && abilityIds.id(ability) == 0) {
+        return false;
+      }
+    }
+    return true;
   }
 
   private boolean savePreset(int playerId, Preset preset) {
@@ -289,7 +401,7 @@ public final class StorageImpl implements BendingStorage {
     if (!deletePreset(playerId, preset.name())) {
       return false; // needed for overwriting
     }
-    List<String> abilities = preset.abilities();
+    int[] abilities = slotIds(preset.abilities(), abilityIds);
     try {
       DB.useHandle(handle -> {
         int presetId = (int) handle.createUpdate(SqlQueries.PRESET_INSERT_NEW.query())
@@ -299,12 +411,8 @@ public final class StorageImpl implements BendingStorage {
 
         PreparedBatch batch = handle.prepareBatch(SqlQueries.PRESET_SLOTS_INSERT_NEW.query());
         batch.execute();
-        for (int slot = 0; slot < abilities.size(); slot++) {
-          String abilityName = abilities.get(slot);
-          if (abilityName == null) {
-            continue;
-          }
-          int abilityId = getAbilityId(abilityName);
+        for (int slot = 0; slot < abilities.length; slot++) {
+          int abilityId = abilities[slot];
           if (abilityId == 0) {
             continue;
           }
@@ -334,71 +442,67 @@ public final class StorageImpl implements BendingStorage {
     return false;
   }
 
-  private int getAbilityId(String name) {
-    if (name == null) {
-      return 0;
-    }
+  // Loads the full id-name mapping of a lookup table, it only changes when new entries are created at startup.
+  private IdDictionary loadDictionary(SqlQueries query, String idColumn, String nameColumn) {
     try {
-      return DB.withHandle(handle ->
-        (int) handle.createQuery(SqlQueries.ABILITIES_SELECT_ID_BY_NAME.query()).bind(0, name).mapToMap().one().get("ability_id")
-      );
-    } catch (Exception e) {
-      logger.warn(e.getMessage(), e);
-    }
-    return 0;
-  }
-
-  private String[] getSlots(int playerId) {
-    String[] slots = new String[9];
-    try {
-      DB.useHandle(handle -> {
-        Query query = handle.createQuery(SqlQueries.PLAYER_SLOTS_SELECT_FOR_ID.query()).bind(0, playerId);
-        for (Map<String, Object> map : query.mapToMap()) {
-          int slot = (int) map.get("slot");
-          String abilityName = (String) map.get("ability_name");
-          slots[slot - 1] = abilityName;
+      return DB.withHandle(handle -> {
+        Map<String, Integer> entries = new HashMap<>();
+        for (Map<String, Object> map : handle.createQuery(query.query()).mapToMap()) {
+          entries.put((String) map.get(nameColumn), (int) map.get(idColumn));
         }
+        return new IdDictionary(entries);
       });
     } catch (Exception e) {
       logger.warn(e.getMessage(), e);
     }
-    return slots;
+    return IdDictionary.EMPTY;
   }
 
-  private Set<String> getElements(int playerId) {
+  private boolean deletePreset(int playerId, String presetName) {
     try {
-      return DB.withHandle(handle ->
-        handle.createQuery(SqlQueries.PLAYER_ELEMENTS_SELECT_FOR_ID.query()).bind(0, playerId)
-          .mapToMap().stream().map(r -> (String) r.get("element_name")).collect(Collectors.toSet())
+      DB.withHandle(handle ->
+        handle.createUpdate(SqlQueries.PRESET_REMOVE_SPECIFIC.query()).bind(0, playerId).bind(1, presetName)
       );
+      return true;
     } catch (Exception e) {
       logger.warn(e.getMessage(), e);
     }
-    return Set.of();
+    return false;
   }
 
-  private Set<String> getPresets(int playerId) {
-    try {
-      return DB.withHandle(handle ->
-        handle.createQuery(SqlQueries.PRESET_NAMES_SELECT_BY_PLAYER_ID.query()).bind(0, playerId)
-          .mapToMap().stream().map(r -> (String) r.get("preset_name")).collect(Collectors.toSet())
-      );
-    } catch (Exception e) {
-      logger.warn(e.getMessage(), e);
+  private static final class ProfileBuilder {
+    private final UUID uuid;
+    private final int id;
+    private final boolean board;
+    private final String[] slots = new String[9];
+    private final Set<String> elements = new HashSet<>();
+    private final Set<String> presets = new HashSet<>();
+
+    private ProfileBuilder(UUID uuid, int id, boolean board) {
+      this.uuid = uuid;
+      this.id = id;
+      this.board = board;
+    }
+
+    private Entry<PlayerProfile, BenderData> build() {
+      return Map.entry(new PlayerProfile(id, board), new BenderData(slots, Set.copyOf(elements), Set.copyOf(presets)));
     }
-    return Set.of();
   }
 
-  private boolean deletePreset(int playerId, String presetName) {
-    try {
-      DB.withHandle(handle ->
-        handle.createUpdate(SqlQueries.PRESET_REMOVE_SPECIFIC.query()).bind(0, playerId).bind(1, presetName)
-      );
-      return true;
-    } catch (Exception e) {
-      logger.warn(e.getMessage(), e);
+  // Ability id of each slot for storage, 0 for empty slots and unknown abilities
+  private static int @NonNull [] slotIds(@NonNull List<@Nullable String> abilities, @NonNull IdDictionary abilityIds) {
+    int[] result = new int[abilities.size()];
+    for (int slot = 0; slot < result.length; slot++) {
+      result[slot] = abilityIds.id(abilities.get(slot));
+    }
+    return result;
+  }
+
+  // Stores the ability of a loaded slot row, rows with a slot outside the array are ignored
+  private static void readSlot(@Nullable String @NonNull [] slots, int slot, int abilityId, @NonNull IdDictionary abilityIds) {
+    if (slot >= 1 && slot <= slots.length) {
+      slots[slot - 1] = abilityIds.name(abilityId);
     }
-    return false;
   }
 
   // Gets preset id and returns 0 if doesn't exist or when a problem occurs.
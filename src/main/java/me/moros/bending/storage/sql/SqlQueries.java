@@ -24,26 +24,26 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 public enum SqlQueries {
   PLAYER_INSERT("INSERT INTO bending_players (uuid) VALUES(?)"),
-  PLAYER_SELECT_BY_UUID("SELECT player_id, board FROM bending_players WHERE uuid=? LIMIT 1"),
   PLAYER_UPDATE_BOARD_FOR_ID("UPDATE bending_players SET board=? WHERE player_id=?"),
 
-  ABILITIES_SELECT_ID_BY_NAME("SELECT ability_id FROM bending_abilities WHERE ability_name=?"),
+  ABILITIES_SELECT_ALL("SELECT ability_id, ability_name FROM bending_abilities"),
+  ELEMENTS_SELECT_ALL("SELECT element_id, element_name FROM bending_elements"),
 
-  PLAYER_ELEMENTS_SELECT_FOR_ID("SELECT e.element_name FROM bending_players_elements pe JOIN bending_elements e ON e.element_id = pe.element_id WHERE pe.player_id=?"),
-  PLAYER_ELEMENTS_INSERT_FOR_NAME("INSERT INTO bending_players_elements (element_id, player_id) SELECT e.element_id, ? FROM bending_elements e WHERE e.element_name=?"),
+  PLAYER_ELEMENTS_SELECT_FOR_IDS("SELECT player_id, element_id FROM bending_players_elements WHERE player_id IN (<ids>)"),
+  PLAYER_ELEMENTS_INSERT_NEW("INSERT INTO bending_players_elements (element_id, player_id) VALUES(?, ?)"),
   PLAYER_ELEMENTS_REMOVE_FOR_ID("DELETE FROM bending_players_elements WHERE player_id=?"),
 
-  PLAYER_SLOTS_SELECT_FOR_ID("SELECT ps.slot, a.ability_name FROM bending_players_slots ps JOIN bending_abilities a ON a.ability_id = ps.ability_id WHERE ps.player_id=?"),
+  PLAYER_SLOTS_SELECT_FOR_IDS("SELECT player_id, slot, ability_id FROM bending_players_slots WHERE player_id IN (<ids>)"),
   PLAYER_SLOTS_INSERT_NEW("INSERT INTO bending_players_slots (player_id, slot, ability_id) VALUES(?, ?, ?)"),
   PLAYER_SLOTS_REMOVE_FOR_ID("DELETE FROM bending_players_slots WHERE player_id=?"),
 
-  PRESET_NAMES_SELECT_BY_PLAYER_ID("SELECT preset_name FROM bending_presets WHERE player_id=?"),
+  PRESET_NAMES_SELECT_BY_PLAYER_IDS("SELECT player_id, preset_name FROM bending_presets WHERE player_id IN (<ids>)"),
   PRESET_SELECT_ID_BY_ID_AND_NAME("SELECT preset_id FROM bending_presets WHERE player_id=? AND preset_name=? LIMIT 1"),
   PRESET_INSERT_NEW("INSERT INTO bending_presets (player_id, preset_name) VALUES(?, ?)"),
   PRESET_REMOVE_FOR_ID("DELETE FROM bending_presets WHERE preset_id=?"),
   PRESET_REMOVE_SPECIFIC("DELETE FROM bending_presets WHERE player_id=? AND preset_name=?"),
 
-  PRESET_SLOTS_SELECT_BY_ID("SELECT ps.slot, a.ability_name FROM bending_presets_slots ps JOIN bending_abilities a ON a.ability_id = ps.ability_id WHERE ps.preset_id=?"),
+  PRESET_SLOTS_SELECT_BY_ID("SELECT slot, ability_id FROM bending_presets_slots WHERE preset_id=?"),
   PRESET_SLOTS_INSERT_NEW("INSERT INTO bending_presets_slots (preset_id, slot, ability_id) VALUES(?, ?, ?)");
 
   private final String query;
@@ -59,6 +59,24 @@ public enum SqlQueries {
     return query;
   }
 
+  /**
+   * Selects the profiles for the given amount of uuids. Each uuid is bound twice, first in order for the
+   * {@code uuid_index} column and then for the filter, so rows are matched to uuids without decoding the stored value.
+   * @param count the amount of uuids to select
+   * @return the query
+   */
+  public static @NonNull String playerSelectByUuids(int count) {
+    StringBuilder builder = new StringBuilder("SELECT player_id, board, CASE uuid");
+    for (int i = 0; i < count; i++) {
+      builder.append(" WHEN ? THEN ").append(i);
+    }
+    builder.append(" END AS uuid_index FROM bending_players WHERE uuid IN (");
+    for (int i = 0; i < count; i++) {
+      builder.append(i == 0 ? "?" : ", ?");
+    }
+    return builder.append(')').toString();
+  }
+
   public static @NonNull String groupInsertAbilities(@NonNull StorageType type) {
     return groupInsert(type, "bending_abilities", "ability_name");
   }
@@ -0,0 +1,217 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.destroystokyo.paper.ParticleBuilder;
+import me.moros.atlas.configurate.CommentedConfigurationNode;
+import me.moros.bending.Bending;
+import net.minecraft.network.protocol.game.ClientboundLevelParticlesPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.phys.Vec3;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Particle.DustOptions;
+import org.bukkit.craftbukkit.v1_17_R1.CraftParticle;
+import org.bukkit.craftbukkit.v1_17_R1.CraftWorld;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Collects particle spawns made on the main thread and sends them once per tick.
+ * Identical spawns are merged into a single packet and every packet is encoded once and shared between receivers.
+ * Each player only receives particles that are in range and not behind them, nearest first, up to a configurable cap.
+ * Minecraft 1.17 has no bundle packet, so batching means fewer and shared packets rather than a single packet per player.
+ */
+public enum ParticleBuffer {
+  INSTANCE;
+
+  private final Map<Emission, Emission> emissions = new HashMap<>();
+  private final List<Emission> order = new ArrayList<>();
+
+  private boolean enabled = true;
+  private double viewDistanceSq = 32 * 32;
+  private double nearDistanceSq = 6 * 6;
+  private double minDot = -0.17;
+  private int maxPerPlayer = 4096;
+  private long[] candidates = new long[256];
+
+  public void reload() {
+    CommentedConfigurationNode node = Bending.configManager().config().node("properties", "particles");
+    enabled = node.node("batching").getBoolean(true);
+    double viewDistance = Math.min(32, Math.max(1, node.node("view-distance").getDouble(32)));
+    double nearDistance = Math.max(0, node.node("near-distance").getDouble(6));
+    double viewAngle = Math.min(360, Math.max(0, node.node("view-angle").getDouble(200)));
+    viewDistanceSq = viewDistance * viewDistance;
+    nearDistanceSq = nearDistance * nearDistance;
+    minDot = Math.cos(Math.toRadians(viewAngle / 2));
+    maxPerPlayer = Math.max(1, node.node("max-per-player").getInt(4096));
+  }
+
+  /**
+   * Queue the given particle effect for the end of the tick.
+   * Effects with explicit receivers or a source, effects spawned async and invalid effects are not buffered.
+   * @param pb the particle effect to queue
+   * @return true if the effect was queued, false if it needs to be spawned directly
+   */
+  boolean add(@NonNull ParticleBuilder pb) {
+    Location loc = pb.location();
+    if (!enabled || loc == null || loc.getWorld() == null || pb.receivers() != null || pb.source() != null
+      || !Bukkit.isPrimaryThread()) {
+      return false;
+    }
+    Particle particle = pb.particle();
+    Object data = pb.data();
+    if (data == null ? particle.getDataType() != Void.class : !particle.getDataType().isInstance(data)) {
+      return false;
+    }
+    Emission emission = new Emission(((CraftWorld) loc.getWorld()).getHandle(), particle, data, pb.force(), loc.getX(),
+      loc.getY(), loc.getZ(), (float) pb.offsetX(), (float) pb.offsetY(), (float) pb.offsetZ(), (float) pb.extra(), pb.count());
+    // Count 0 uses the offset as velocity so those can't be merged
+    if (emission.count > 0) {
+      Emission existing = emissions.putIfAbsent(emission, emission);
+      if (existing != null) {
+        existing.count += emission.count;
+        return true;
+      }
+    }
+    order.add(emission);
+    return true;
+  }
+
+  /**
+   * Send all queued particles to their receivers.
+   */
+  public void flush() {
+    if (order.isEmpty()) {
+      return;
+    }
+    Map<ServerLevel, List<Emission>> levels = new HashMap<>();
+    for (Emission emission : order) {
+      levels.computeIfAbsent(emission.level, l -> new ArrayList<>()).add(emission);
+    }
+    emissions.clear();
+    order.clear();
+    levels.forEach(this::send);
+  }
+
+  private void send(ServerLevel level, List<Emission> batch) {
+    for (ServerPlayer player : level.players()) {
+      Vec3 eye = player.getEyePosition();
+      Vec3 look = player.getLookAngle();
+      int size = 0;
+      for (int i = 0; i < batch.size(); i++) {
+        Emission emission = batch.get(i);
+        double dx = emission.x - eye.x;
+        double dy = emission.y - eye.y;
+        double dz = emission.z - eye.z;
+        double distSq = dx * dx + dy * dy + dz * dz;
+        if (distSq > (emission.force ? 512 * 512 : viewDistanceSq)) {
+          continue;
+        }
+        if (distSq > nearDistanceSq && (dx * look.x + dy * look.y + dz * look.z) < minDot * Math.sqrt(distSq)) {
+          continue;
+        }
+        if (size == candidates.length) {
+          candidates = Arrays.copyOf(candidates, size * 2);
+        }
+        // Non negative floats keep their order when compared as raw bits
+        candidates[size++] = ((long) Float.floatToIntBits((float) distSq) << 32) | i;
+      }
+      if (size > maxPerPlayer) {
+        Arrays.sort(candidates, 0, size);
+        size = maxPerPlayer;
+      }
+      for (int i = 0; i < size; i++) {
+        player.connection.send(batch.get((int) candidates[i]).packet());
+      }
+    }
+  }
+
+  private static final class Emission {
+    private final ServerLevel level;
+    private final Particle particle;
+    private final Object data;
+    private final boolean force;
+    private final double x, y, z;
+    private final float offsetX, offsetY, offsetZ, extra;
+    private int count;
+    private ClientboundLevelParticlesPacket packet;
+
+    private Emission(ServerLevel level, Particle particle, Object data, boolean force, double x, double y, double z,
+                     float offsetX, float offsetY, float offsetZ, float extra, int count) {
+      this.level = level;
+      this.particle = particle;
+      this.data = data;
+      this.force = force;
+      this.x = x;
+      this.y = y;
+      this.z = z;
+      this.offsetX = offsetX;
+      this.offsetY = offsetY;
+      this.offsetZ = offsetZ;
+      this.extra = extra;
+      this.count = count;
+    }
+
+    private ClientboundLevelParticlesPacket packet() {
+      if (packet == null) {
+        packet = new ClientboundLevelParticlesPacket(CraftParticle.toNMS(particle, data), force, x, y, z, offsetX,
+          offsetY, offsetZ, extra, count);
+      }
+      return packet;
+    }
+
+    // The count is excluded as it is what gets merged
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Emission other)) {
+        return false;
+      }
+      return level == other.level && particle == other.particle && force == other.force && x == other.x
+        && y == other.y && z == other.z && offsetX == other.offsetX && offsetY == other.offsetY
+        && offsetZ == other.offsetZ && extra == other.extra && sameData(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = Objects.hash(particle, x, y, z);
+      return 31 * result + (data instanceof DustOptions dust ? dust.getColor().hashCode() : Objects.hashCode(data));
+    }
+
+    // DustOptions doesn't implement equals
+    private static boolean sameData(Object first, Object second) {
+      if (first instanceof DustOptions a && second instanceof DustOptions b) {
+        return a.getColor().equals(b.getColor()) && a.getSize() == b.getSize();
+      }
+      return Objects.equals(first, second);
+    }
+  }
+}
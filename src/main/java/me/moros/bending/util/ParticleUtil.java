@@ -19,7 +19,10 @@
 
 package me.moros.bending.util;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import com.destroystokyo.paper.ParticleBuilder;
+import me.moros.bending.game.QualityGovernor;
 import me.moros.bending.model.user.User;
 import org.bukkit.Color;
 import org.bukkit.Location;
@@ -30,7 +33,9 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 /**
  * Utility class to provide create and render {@link Particle}.
  * You should prefer this over using a custom ParticleBuilder to ensure uniform rendering across different abilities.
+ * Particles created here are sent in batches at the end of the tick.
  * @see ParticleBuilder
+ * @see ParticleBuffer
  */
 public final class ParticleUtil {
   public static final Color AIR = fromHex("EEEEEE");
@@ -40,27 +45,27 @@ public final class ParticleUtil {
 
   public static @NonNull ParticleBuilder createFire(@NonNull User user, @NonNull Location center) {
     Particle effect = user.hasPermission("bending.bluefire") ? Particle.SOUL_FIRE_FLAME : Particle.FLAME;
-    return effect.builder().location(center).extra(0);
+    return new BufferedParticleBuilder(effect).location(center).extra(0);
   }
 
   public static @NonNull ParticleBuilder createAir(@NonNull Location center) {
-    return Particle.REDSTONE.builder().location(center).extra(0).color(AIR, 1.8F);
+    return new BufferedParticleBuilder(Particle.REDSTONE).location(center).extra(0).color(AIR, 1.8F);
   }
 
   public static @NonNull ParticleBuilder createRGB(@NonNull Location center, @NonNull String hexVal) {
-    return Particle.REDSTONE.builder().location(center).extra(0).color(fromHex(hexVal));
+    return new BufferedParticleBuilder(Particle.REDSTONE).location(center).extra(0).color(fromHex(hexVal));
   }
 
   public static @NonNull ParticleBuilder createRGB(@NonNull Location center, @NonNull String hexVal, float size) {
-    return Particle.REDSTONE.builder().location(center).extra(0).color(fromHex(hexVal), size);
+    return new BufferedParticleBuilder(Particle.REDSTONE).location(center).extra(0).color(fromHex(hexVal), size);
   }
 
   public static @NonNull ParticleBuilder create(@NonNull Particle effect, @NonNull Location center) {
-    return effect.builder().location(center).extra(0);
+    return new BufferedParticleBuilder(effect).location(center).extra(0);
   }
 
   public static @NonNull ParticleBuilder createBubble(@NonNull Block center) {
-    return Particle.WATER_BUBBLE.builder().location(center.getLocation().add(0.5, 0.5, 0.5)).extra(0)
+    return new BufferedParticleBuilder(Particle.WATER_BUBBLE).location(center.getLocation().add(0.5, 0.5, 0.5)).extra(0)
       .count(3).offset(0.25, 0.25, 0.25);
   }
 
@@ -89,4 +94,29 @@ public final class ParticleUtil {
     int b = Integer.valueOf(hexValue.substring(4, 6), 16);
     return Color.fromRGB(r, g, b);
   }
+
+  private static final class BufferedParticleBuilder extends ParticleBuilder {
+    private BufferedParticleBuilder(Particle particle) {
+      super(particle);
+    }
+
+    // Particle density is reduced according to the server load, count is restored so the builder can be reused
+    @Override
+    public @NonNull ParticleBuilder spawn() {
+      double density = QualityGovernor.INSTANCE.particleDensity();
+      int count = count();
+      if (density < 1) {
+        if (count > 1) {
+          count(Math.max(1, (int) Math.round(count * density)));
+        } else if (ThreadLocalRandom.current().nextDouble() >= density) {
+          return this;
+        }
+      }
+      if (!ParticleBuffer.INSTANCE.add(this)) {
+        super.spawn();
+      }
+      count(count);
+      return this;
+    }
+  }
 }
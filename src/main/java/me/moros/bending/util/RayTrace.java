@@ -19,20 +19,19 @@
 
 package me.moros.bending.util;
 
-import java.util.HashSet;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.Predicate;
 
+import me.moros.bending.Bending;
+import me.moros.bending.game.EntityIndex;
+import me.moros.bending.game.EntityIndex.EntityHit;
 import me.moros.bending.model.collision.geometry.AABB;
-import me.moros.bending.model.collision.geometry.Ray;
+import me.moros.bending.model.collision.geometry.DummyCollider;
 import me.moros.bending.model.math.FastMath;
 import me.moros.bending.model.math.Vector3d;
-import me.moros.bending.model.math.Vector3i;
 import me.moros.bending.model.user.User;
 import me.moros.bending.util.collision.AABBUtils;
 import me.moros.bending.util.methods.EntityMethods;
-import me.moros.bending.util.methods.VectorMethods;
 import org.bukkit.FluidCollisionMode;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -46,6 +45,8 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class RayTrace {
   private static final double MAX_RANGE = 100;
+  private static final double SAMPLE_START = 0.1;
+  private static final double SAMPLE_STEP = 0.5;
 
   public enum Type {COMPOSITE, ENTITY, BLOCK}
 
@@ -57,6 +58,7 @@ public final class RayTrace {
 
   private boolean ignoreLiquids = true;
   private boolean ignorePassable = true;
+  private boolean livingOnly = false;
 
   private Type type = Type.BLOCK;
 
@@ -93,6 +95,15 @@ public final class RayTrace {
     return this;
   }
 
+  /**
+   * Mark that the entity predicate only accepts living entities.
+   * This allows entity ray traces made during the world update pass to use its {@link EntityIndex}.
+   */
+  public @NonNull RayTrace livingOnly(boolean livingOnly) {
+    this.livingOnly = livingOnly;
+    return this;
+  }
+
   public @NonNull RayTrace type(@NonNull Type type) {
     this.type = Objects.requireNonNull(type);
     return this;
@@ -110,33 +121,204 @@ public final class RayTrace {
 
   /**
    * Gets the targeted location.
+   * Blocks are visited in order along the ray using a voxel traversal (Amanatides-Woo) so each block is tested once.
+   * If a {@link #raySize(double)} is set, the ray is swept against block bounds expanded by that size and the block with
+   * the nearest entry wins. Blocks the thick ray already overlaps at its origin are tested as a thin ray.
+   * The resulting position is the last sample point (every 0.5 blocks starting at 0.1) before the hit, which is the
+   * point the sampled trace this replaces returned.
+   * The trace stops at the first cell along the ray that is in an unloaded chunk.
    * @param ignore a filter for unwanted blocks
    * @return the target location
    */
   public @NonNull CompositeResult result(@NonNull World world, @NonNull Predicate<Block> ignore) {
-    Ray ray = new Ray(origin, direction.multiply(range));
-    double step = 0.5;
-    Vector3d increment = direction.multiply(step);
-    Set<Block> checked = new HashSet<>(FastMath.ceil(2 * range));
-    for (double i = 0.1; i <= range; i += step) {
-      Vector3d current = origin.add(direction.multiply(i));
-      if (!world.isChunkLoaded((int) current.getX() >> 4, (int) current.getZ() >> 4)) {
-        return new CompositeResult(null, current.subtract(increment));
+    double ox = origin.getX();
+    double oy = origin.getY();
+    double oz = origin.getZ();
+    double dx = direction.getX();
+    double dy = direction.getY();
+    double dz = direction.getZ();
+    int size = FastMath.ceil(raySize); // Cells within this distance of the ray can be hit by a thick ray
+    int x = FastMath.floor(ox);
+    int y = FastMath.floor(oy);
+    int z = FastMath.floor(oz);
+    int stepX = (int) Math.signum(dx);
+    int stepY = (int) Math.signum(dy);
+    int stepZ = (int) Math.signum(dz);
+    double deltaX = Math.abs(1 / dx);
+    double deltaY = Math.abs(1 / dy);
+    double deltaZ = Math.abs(1 / dz);
+    double tMaxX = boundary(ox, x, stepX) * deltaX;
+    double tMaxY = boundary(oy, y, stepY) * deltaY;
+    double tMaxZ = boundary(oz, z, stepZ) * deltaZ;
+    int chunkX = x >> 4;
+    int chunkZ = z >> 4;
+    boolean chunkLoaded = world.isChunkLoaded(chunkX, chunkZ);
+    // The neighbourhood of the first cell is tested whole, after that only the slab that enters it on each step
+    int fromX = x - size, toX = x + size, fromY = y - size, toY = y + size, fromZ = z - size, toZ = z + size;
+    Block hitBlock = null;
+    double hitDistance = Double.POSITIVE_INFINITY;
+    double t = 0;
+    // A cell's neighbourhood can only contain blocks entered at or after the cell itself, so stop past the nearest hit
+    while (t <= range && t <= hitDistance) {
+      if ((x >> 4) != chunkX || (z >> 4) != chunkZ) {
+        chunkX = x >> 4;
+        chunkZ = z >> 4;
+        chunkLoaded = world.isChunkLoaded(chunkX, chunkZ);
       }
-      Block block = current.toBlock(world);
-      for (Vector3i vector : VectorMethods.decomposeDiagonals(current, increment)) {
-        Block diagonalBlock = block.getRelative(vector.getX(), vector.getY(), vector.getZ());
-        if (checked.contains(diagonalBlock) || ignore.test(diagonalBlock)) {
-          continue;
+      if (!chunkLoaded) {
+        if (hitBlock != null) {
+          break;
         }
-        checked.add(diagonalBlock);
-        AABB blockBounds = diagonalBlock.isLiquid() ? AABB.BLOCK_BOUNDS.at(new Vector3d(diagonalBlock)) : AABBUtils.blockBounds(diagonalBlock);
-        if (blockBounds.intersects(ray)) {
-          return new CompositeResult(current, diagonalBlock, null);
+        return new CompositeResult(null, at(Math.max(0, t - SAMPLE_STEP)));
+      }
+      for (int bx = fromX; bx <= toX; bx++) {
+        for (int by = fromY; by <= toY; by++) {
+          for (int bz = fromZ; bz <= toZ; bz++) {
+            if (size > 0 && !world.isChunkLoaded(bx >> 4, bz >> 4)) {
+              continue;
+            }
+            if (world.getType(bx, by, bz).isAir()) {
+              continue; // Air never has bounds, skip it without creating a block
+            }
+            Block block = world.getBlockAt(bx, by, bz);
+            double d = ignore.test(block) ? Double.POSITIVE_INFINITY : entry(block);
+            if (d < hitDistance) {
+              hitDistance = d;
+              hitBlock = block;
+            }
+          }
         }
       }
+      if (tMaxX < tMaxY && tMaxX < tMaxZ) {
+        x += stepX;
+        t = tMaxX;
+        tMaxX += deltaX;
+        fromX = toX = x + stepX * size;
+        fromY = y - size;
+        toY = y + size;
+        fromZ = z - size;
+        toZ = z + size;
+      } else if (tMaxY < tMaxZ) {
+        y += stepY;
+        t = tMaxY;
+        tMaxY += deltaY;
+        fromX = x - size;
+        toX = x + size;
+        fromY = toY = y + stepY * size;
+        fromZ = z - size;
+        toZ = z + size;
+      } else {
+        z += stepZ;
+        t = tMaxZ;
+        tMaxZ += deltaZ;
+        fromX = x - size;
+        toX = x + size;
+        fromY = y - size;
+        toY = y + size;
+        fromZ = toZ = z + stepZ * size;
+      }
+    }
+    if (hitBlock != null) {
+      return new CompositeResult(at(sample(hitDistance)), hitBlock, null);
+    }
+    return new CompositeResult(null, at(range));
+  }
+
+  // Distance in blocks to the first cell boundary along an axis
+  private static double boundary(double o, int cell, int step) {
+    if (step == 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return step > 0 ? cell + 1 - o : o - cell;
+  }
+
+  // Entry distance of the ray into the block bounds or infinity if there's no hit in range
+  private double entry(Block block) {
+    double x1, y1, z1, x2, y2, z2;
+    if (block.isLiquid()) {
+      x1 = block.getX();
+      y1 = block.getY();
+      z1 = block.getZ();
+      x2 = x1 + 1;
+      y2 = y1 + 1;
+      z2 = z1 + 1;
+    } else {
+      AABB bounds = AABBUtils.blockBounds(block);
+      if (bounds instanceof DummyCollider) {
+        return Double.POSITIVE_INFINITY;
+      }
+      x1 = bounds.min.getX();
+      y1 = bounds.min.getY();
+      z1 = bounds.min.getZ();
+      x2 = bounds.max.getX();
+      y2 = bounds.max.getY();
+      z2 = bounds.max.getZ();
     }
-    return new CompositeResult(null, ray.origin.add(ray.direction));
+    double d = entry(x1, y1, z1, x2, y2, z2, raySize);
+    // A thick ray already overlaps the blocks around its origin, those only count if the thin ray hits them
+    return d == 0 && raySize > 0 ? entry(x1, y1, z1, x2, y2, z2, 0) : d;
+  }
+
+  // Slab test against the bounds expanded by the given size, returns the entry distance or infinity if there's no hit in range
+  private double entry(double x1, double y1, double z1, double x2, double y2, double z2, double expand) {
+    double tMin = 0;
+    double tMax = range;
+    double ox = origin.getX();
+    double oy = origin.getY();
+    double oz = origin.getZ();
+    double dx = direction.getX();
+    double dy = direction.getY();
+    double dz = direction.getZ();
+    x1 -= expand;
+    y1 -= expand;
+    z1 -= expand;
+    x2 += expand;
+    y2 += expand;
+    z2 += expand;
+    if (dx == 0) {
+      if (ox < x1 || ox > x2) {
+        return Double.POSITIVE_INFINITY;
+      }
+    } else {
+      double a = (x1 - ox) / dx;
+      double b = (x2 - ox) / dx;
+      tMin = Math.max(tMin, Math.min(a, b));
+      tMax = Math.min(tMax, Math.max(a, b));
+    }
+    if (dy == 0) {
+      if (oy < y1 || oy > y2) {
+        return Double.POSITIVE_INFINITY;
+      }
+    } else {
+      double a = (y1 - oy) / dy;
+      double b = (y2 - oy) / dy;
+      tMin = Math.max(tMin, Math.min(a, b));
+      tMax = Math.min(tMax, Math.max(a, b));
+    }
+    if (dz == 0) {
+      if (oz < z1 || oz > z2) {
+        return Double.POSITIVE_INFINITY;
+      }
+    } else {
+      double a = (z1 - oz) / dz;
+      double b = (z2 - oz) / dz;
+      tMin = Math.max(tMin, Math.min(a, b));
+      tMax = Math.min(tMax, Math.max(a, b));
+    }
+    return tMin <= tMax ? tMin : Double.POSITIVE_INFINITY;
+  }
+
+  // The last sample distance at or before the given distance
+  private static double sample(double distance) {
+    if (distance <= SAMPLE_START) {
+      return SAMPLE_START;
+    }
+    return SAMPLE_START + SAMPLE_STEP * FastMath.floor((distance - SAMPLE_START) / SAMPLE_STEP);
+  }
+
+  private Vector3d at(double distance) {
+    return new Vector3d(origin.getX() + direction.getX() * distance, origin.getY() + direction.getY() * distance,
+      origin.getZ() + direction.getZ() * distance);
   }
 
   public @NonNull CompositeResult result(@NonNull World world) {
@@ -148,6 +330,16 @@ public final class RayTrace {
     Vector dir = direction.toBukkitVector();
     FluidCollisionMode fluid = ignoreLiquids ? FluidCollisionMode.NEVER : FluidCollisionMode.ALWAYS;
     Vector3d pos = origin.add(direction.multiply(range));
+    EntityIndex index = livingOnly && type != Type.BLOCK ? Bending.game().worldManager().entityIndex(world) : null;
+    if (index != null) {
+      RayTraceResult blockResult = type == Type.COMPOSITE ? world.rayTraceBlocks(start, dir, range, fluid, ignorePassable) : null;
+      double entityRange = blockResult == null ? range : origin.distance(new Vector3d(blockResult.getHitPosition()));
+      EntityHit entityHit = index.rayTrace(origin, direction, entityRange, raySize, entityPredicate);
+      if (entityHit != null) {
+        return new CompositeResult(entityHit.position(), null, entityHit.entity());
+      }
+      return new CompositeResult(blockResult, pos);
+    }
     return switch (type) {
       case COMPOSITE -> new CompositeResult(world.rayTrace(start, dir, range, fluid, ignorePassable, raySize, entityPredicate), pos);
       case ENTITY -> new CompositeResult(world.rayTraceEntities(start, dir, range, raySize, entityPredicate), pos);
@@ -22,6 +22,7 @@ package me.moros.bending.util.collision;
 import me.moros.bending.model.collision.geometry.AABB;
 import me.moros.bending.model.collision.geometry.DummyCollider;
 import me.moros.bending.model.math.Vector3d;
+import me.moros.bending.util.material.BlockStateCache;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -37,10 +38,7 @@ public final class AABBUtils {
    * @return the provided block's {@link AABB} or a {@link DummyCollider} if the block is passable
    */
   public static @NonNull AABB blockBounds(@NonNull Block block) {
-    if (block.isPassable()) {
-      return DUMMY_COLLIDER;
-    }
-    return new AABB(new Vector3d(block.getBoundingBox().getMin()), new Vector3d(block.getBoundingBox().getMax()));
+    return BlockStateCache.INSTANCE.bounds(block);
   }
 
   /**
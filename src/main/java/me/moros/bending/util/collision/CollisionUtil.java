@@ -19,19 +19,33 @@
 
 package me.moros.bending.util.collision;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+import me.moros.bending.Bending;
+import me.moros.bending.game.EntityIndex;
 import me.moros.bending.game.temporal.TempFallingBlock;
 import me.moros.bending.model.collision.Collider;
+import me.moros.bending.model.collision.geometry.ColliderBatch;
 import me.moros.bending.model.math.Vector3d;
 import me.moros.bending.model.user.User;
+import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.FallingBlock;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public final class CollisionUtil {
+  // Scratch buffers reused by main thread queries, a pool rather than a single instance as callbacks may query again
+  private static final Deque<Scratch> SCRATCH = new ArrayDeque<>();
+
   private CollisionUtil() {
   }
 
@@ -68,21 +82,25 @@ public final class CollisionUtil {
    * @return true if it hit at least one entity
    */
   public static boolean handleEntityCollisions(@NonNull User user, @NonNull Collider collider, @NonNull CollisionCallback callback, boolean livingOnly, boolean selfCollision, boolean earlyEscape) {
-    final double buffer = 4.0; // Buffer needed to check for nearby entities that have locations outside the check range but still intersect
-    Vector3d extent = collider.halfExtents().add(new Vector3d(buffer, buffer, buffer));
-    Vector3d pos = collider.position();
-    boolean hit = false;
-    for (Entity entity : user.world().getNearbyEntities(pos.toLocation(user.world()), extent.getX(), extent.getY(), extent.getZ())) {
-      if (livingOnly && !(entity instanceof LivingEntity)) {
-        continue;
-      }
-      if (!selfCollision && entity.equals(user.entity())) {
-        continue;
+    Scratch scratch = acquire();
+    try {
+      List<Entity> candidates = scratch.candidates;
+      collectCandidates(user, collider.position(), collider.halfExtents(), livingOnly, selfCollision, candidates, scratch.bounds);
+      if (candidates.isEmpty()) {
+        return false;
       }
-      if (!isValidEntity(entity)) {
-        continue;
+      // Test all candidates in a single batch, then run callbacks in the original order
+      boolean[] intersections = scratch.intersections(candidates.size());
+      scratch.collider.add(collider);
+      if (scratch.collider.intersectsAll(0, scratch.bounds, intersections) == 0) {
+        return false;
       }
-      if (collider.intersects(AABBUtils.entityBounds(entity))) {
+      boolean hit = false;
+      for (int i = 0; i < candidates.size(); i++) {
+        if (!intersections[i]) {
+          continue;
+        }
+        Entity entity = candidates.get(i);
         if (!user.canBuild(entity.getLocation().getBlock())) {
           continue;
         }
@@ -92,8 +110,94 @@ public final class CollisionUtil {
         }
         hit |= result;
       }
+      return hit;
+    } finally {
+      release(scratch);
+    }
+  }
+
+  /**
+   * Sweeps a collider along a displacement and finds the window of time in which it could hit nearby entities.
+   * Time is measured in multiples of the displacement. The window is conservative, so checking a collider moved
+   * by the displacement only at times inside it finds exactly the same hits as checking it at every time.
+   * @param user the user (needed for self collision and to specify the world in which collisions are checked)
+   * @param collider the collider at the start of the sweep
+   * @param displacement the movement of the collider per unit of time
+   * @param maxTime the end of the sweep
+   * @param livingOnly whether only LivingEntities should be checked
+   * @param selfCollision whether the collider can collider with the user
+   * @return the window in which the collider can hit an entity
+   */
+  public static @NonNull Sweep sweepEntities(@NonNull User user, @NonNull Collider collider, @NonNull Vector3d displacement, double maxTime, boolean livingOnly, boolean selfCollision) {
+    Vector3d start = collider.position();
+    Vector3d halfExtents = collider.halfExtents();
+    Vector3d halfPath = displacement.multiply(0.5 * maxTime);
+    Vector3d center = start.add(halfPath);
+    Vector3d extent = halfExtents.add(new Vector3d(Math.abs(halfPath.getX()), Math.abs(halfPath.getY()), Math.abs(halfPath.getZ())));
+    Scratch scratch = acquire();
+    try {
+      List<Entity> candidates = scratch.candidates;
+      ColliderBatch bounds = scratch.bounds;
+      collectCandidates(user, center, extent, livingOnly, selfCollision, candidates, bounds);
+      if (candidates.isEmpty()) {
+        return Sweep.MISS;
+      }
+      double[] windows = scratch.windows(candidates.size());
+      if (bounds.sweepAll(start.getX(), start.getY(), start.getZ(), halfExtents.getX(), halfExtents.getY(), halfExtents.getZ(),
+        displacement.getX(), displacement.getY(), displacement.getZ(), maxTime, windows) == 0) {
+        return Sweep.MISS;
+      }
+      double first = Double.POSITIVE_INFINITY;
+      double last = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < 2 * candidates.size(); i += 2) {
+        first = Math.min(first, windows[i]);
+        last = Math.max(last, windows[i + 1]);
+      }
+      return new Sweep(Math.max(0, first), Math.min(maxTime, last));
+    } finally {
+      release(scratch);
+    }
+  }
+
+  // Queries off the main thread get their own buffers
+  private static Scratch acquire() {
+    Scratch scratch = Bukkit.isPrimaryThread() ? SCRATCH.poll() : null;
+    return scratch == null ? new Scratch() : scratch;
+  }
+
+  private static void release(Scratch scratch) {
+    scratch.clear();
+    if (Bukkit.isPrimaryThread()) {
+      SCRATCH.push(scratch);
+    }
+  }
+
+  // Gathers the valid entities near a box and packs their bounding boxes in the same order
+  private static void collectCandidates(User user, Vector3d pos, Vector3d halfExtents, boolean livingOnly, boolean selfCollision,
+                                        List<Entity> candidates, ColliderBatch bounds) {
+    Collection<? extends Entity> nearbyEntities;
+    EntityIndex index = livingOnly ? Bending.game().worldManager().entityIndex(user.world()) : null;
+    if (index != null) {
+      nearbyEntities = index.nearby(pos, halfExtents);
+    } else {
+      final double buffer = 4.0; // Buffer needed to check for nearby entities that have locations outside the check range but still intersect
+      Vector3d extent = halfExtents.add(new Vector3d(buffer, buffer, buffer));
+      nearbyEntities = user.world().getNearbyEntities(pos.toLocation(user.world()), extent.getX(), extent.getY(), extent.getZ());
+    }
+    for (Entity entity : nearbyEntities) {
+      if (livingOnly && !(entity instanceof LivingEntity)) {
+        continue;
+      }
+      if (!selfCollision && entity.equals(user.entity())) {
+        continue;
+      }
+      if (!isValidEntity(entity)) {
+        continue;
+      }
+      BoundingBox box = entity.getBoundingBox();
+      bounds.addBox(box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ());
+      candidates.add(entity);
     }
-    return hit;
   }
 
   private static boolean isValidEntity(Entity entity) {
@@ -107,8 +211,48 @@ public final class CollisionUtil {
     return true;
   }
 
+  // Candidate buffers of a single query, cleared between queries and grown as needed
+  private static final class Scratch {
+    private final List<Entity> candidates = new ArrayList<>();
+    private final ColliderBatch bounds = new ColliderBatch(8);
+    private final ColliderBatch collider = new ColliderBatch(1);
+    private boolean[] intersections = new boolean[8];
+    private double[] windows = new double[16];
+
+    private boolean[] intersections(int size) {
+      if (intersections.length < size) {
+        intersections = new boolean[Math.max(size, 2 * intersections.length)];
+      }
+      return intersections;
+    }
+
+    private double[] windows(int size) {
+      if (windows.length < 2 * size) {
+        windows = new double[Math.max(2 * size, 2 * windows.length)];
+      }
+      return windows;
+    }
+
+    private void clear() {
+      candidates.clear();
+      bounds.clear();
+      collider.clear();
+    }
+  }
+
   @FunctionalInterface
   public interface CollisionCallback {
     boolean onCollision(@NonNull Entity entity);
   }
+
+  /**
+   * The window of time in which a swept collider can hit an entity, empty if it can't hit any.
+   */
+  public record Sweep(double first, double last) {
+    public static final Sweep MISS = new Sweep(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+
+    public boolean contains(double time) {
+      return first <= time && time <= last;
+    }
+  }
 }
@@ -0,0 +1,260 @@
+/*
+ *   Copyright 2020-2021 Moros <https://github.com/PrimordialMoros>
+ *
+ *    This file is part of Bending.
+ *
+ *   Bending is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Bending is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with Bending.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.moros.bending.util.material;
+
+import com.destroystokyo.paper.MaterialSetTag;
+import me.moros.bending.model.collision.geometry.AABB;
+import me.moros.bending.model.math.Vector3d;
+import me.moros.bending.util.collision.AABBUtils;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.BoundingBox;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Read-through cache for block states that are queried repeatedly by abilities in the same tick.
+ * The cache is only active on the main thread while worlds are being updated and is invalidated on every
+ * block change made by the plugin, per position for temporary block writes and fully for changes that apply physics. Outside that window every query falls through to the block itself.
+ * Entries live in a direct-mapped table keyed by world and packed position and are cleared in constant time
+ * by bumping the generation.
+ */
+public enum BlockStateCache {
+  INSTANCE;
+
+  public static final int EARTH = 1;
+  public static final int SAND = 1 << 1;
+  public static final int METAL = 1 << 2;
+  public static final int LAVA = 1 << 3;
+  public static final int WATER = 1 << 4;
+  public static final int PLANT = 1 << 5;
+  public static final int ICE = 1 << 6;
+  public static final int SNOW = 1 << 7;
+  public static final int FULL_SOURCE = 1 << 8;
+  public static final int WATER_PLANT = 1 << 9;
+  public static final int TRANSPARENT = 1 << 10;
+  public static final int FIRE = 1 << 11;
+  public static final int UNBREAKABLE = 1 << 12;
+  public static final int CONTAINER = 1 << 13;
+
+  private static final int BITS = 13;
+  private static final int MASK = (1 << BITS) - 1;
+
+  private final Entry[] table;
+  private int[] flags;
+  private Thread owner;
+  private boolean active;
+  private int generation;
+
+  BlockStateCache() {
+    table = new Entry[1 << BITS];
+    for (int i = 0; i < table.length; i++) {
+      table[i] = new Entry();
+    }
+  }
+
+  /**
+   * Clear the cache and start caching on the current thread.
+   */
+  public void begin() {
+    owner = Thread.currentThread();
+    active = true;
+    generation++;
+  }
+
+  /**
+   * Stop caching and clear the cache.
+   */
+  public void end() {
+    active = false;
+    owner = null;
+    generation++;
+  }
+
+  /**
+   * Invalidate all cached entries. Must be called after changing blocks, as neighbours may be affected by physics.
+   */
+  public void invalidate() {
+    generation++;
+  }
+
+  /**
+   * Invalidate the cached entries of a block written without physics and of its direct neighbours, whose shapes are updated along with it.
+   * @param block the changed block
+   */
+  public void invalidate(@NonNull Block block) {
+    if (!active) {
+      return;
+    }
+    World world = block.getWorld();
+    int x = block.getX();
+    int y = block.getY();
+    int z = block.getZ();
+    evict(world, x, y, z);
+    evict(world, x + 1, y, z);
+    evict(world, x - 1, y, z);
+    evict(world, x, y + 1, z);
+    evict(world, x, y - 1, z);
+    evict(world, x, y, z + 1);
+    evict(world, x, y, z - 1);
+  }
+
+  public @NonNull Material type(@NonNull Block block) {
+    Entry e = entry(block);
+    return e == null ? block.getType() : e.type;
+  }
+
+  public boolean isPassable(@NonNull Block block) {
+    Entry e = entry(block);
+    if (e == null) {
+      return block.isPassable();
+    }
+    if ((e.state & Entry.PASSABLE_LOADED) == 0) {
+      e.state |= Entry.PASSABLE_LOADED | (block.isPassable() ? Entry.PASSABLE : 0);
+    }
+    return (e.state & Entry.PASSABLE) != 0;
+  }
+
+  /**
+   * @return the collision bounds of the block or {@link AABBUtils#DUMMY_COLLIDER} if it is passable
+   */
+  public @NonNull AABB bounds(@NonNull Block block) {
+    Entry e = entry(block);
+    if (e == null) {
+      return computeBounds(block, block.isPassable());
+    }
+    if (e.bounds == null) {
+      e.bounds = computeBounds(block, isPassable(block));
+    }
+    return e.bounds;
+  }
+
+  /**
+   * The returned data is shared and must not be modified.
+   */
+  @NonNull BlockData data(@NonNull Block block) {
+    Entry e = entry(block);
+    if (e == null) {
+      return block.getBlockData();
+    }
+    if (e.data == null) {
+      e.data = block.getBlockData();
+    }
+    return e.data;
+  }
+
+  /**
+   * Check if the block's material has any of the given flags.
+   * @param block the block to check
+   * @param mask the flags to check
+   * @return true if the material has at least one of the flags
+   */
+  public boolean is(@NonNull Block block, int mask) {
+    return (flags(type(block)) & mask) != 0;
+  }
+
+  public int flags(@NonNull Material type) {
+    if (flags == null) {
+      flags = computeFlags();
+    }
+    return flags[type.ordinal()];
+  }
+
+  private Entry entry(Block block) {
+    if (!active || Thread.currentThread() != owner) {
+      return null;
+    }
+    World world = block.getWorld();
+    long key = key(block.getX(), block.getY(), block.getZ());
+    Entry e = table[slot(world, key)];
+    if (e.generation != generation || e.key != key || e.world != world) {
+      e.world = world;
+      e.key = key;
+      e.generation = generation;
+      e.type = block.getType();
+      e.data = null;
+      e.bounds = null;
+      e.state = 0;
+    }
+    return e;
+  }
+
+  private void evict(World world, int x, int y, int z) {
+    long key = key(x, y, z);
+    Entry e = table[slot(world, key)];
+    if (e.key == key && e.world == world) {
+      e.world = null;
+    }
+  }
+
+  private static long key(int x, int y, int z) {
+    return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | (y & 0xFFFL);
+  }
+
+  private static int slot(World world, long key) {
+    return (int) (((key ^ System.identityHashCode(world)) * 0x9E3779B97F4A7C15L) >>> (64 - BITS)) & MASK;
+  }
+
+  private static AABB computeBounds(Block block, boolean passable) {
+    if (passable) {
+      return AABBUtils.DUMMY_COLLIDER;
+    }
+    BoundingBox box = block.getBoundingBox();
+    return new AABB(new Vector3d(box.getMinX(), box.getMinY(), box.getMinZ()), new Vector3d(box.getMaxX(), box.getMaxY(), box.getMaxZ()));
+  }
+
+  private static int[] computeFlags() {
+    Material[] materials = Material.values();
+    int[] result = new int[materials.length];
+    for (Material material : materials) {
+      int mask = 0;
+      mask |= EarthMaterials.EARTH_BENDABLE.isTagged(material) ? EARTH : 0;
+      mask |= EarthMaterials.SAND_BENDABLE.isTagged(material) ? SAND : 0;
+      mask |= EarthMaterials.METAL_BENDABLE.isTagged(material) ? METAL : 0;
+      mask |= EarthMaterials.LAVA_BENDABLE.isTagged(material) ? LAVA : 0;
+      mask |= WaterMaterials.ALL.isTagged(material) ? WATER : 0;
+      mask |= WaterMaterials.PLANT_BENDABLE.isTagged(material) ? PLANT : 0;
+      mask |= WaterMaterials.ICE_BENDABLE.isTagged(material) ? ICE : 0;
+      mask |= WaterMaterials.SNOW_BENDABLE.isTagged(material) ? SNOW : 0;
+      mask |= WaterMaterials.FULL_SOURCES.isTagged(material) ? FULL_SOURCE : 0;
+      mask |= MaterialUtil.WATER_PLANTS.isTagged(material) ? WATER_PLANT : 0;
+      mask |= MaterialUtil.TRANSPARENT.isTagged(material) ? TRANSPARENT : 0;
+      mask |= MaterialSetTag.FIRE.isTagged(material) ? FIRE : 0;
+      mask |= MaterialUtil.UNBREAKABLES.isTagged(material) ? UNBREAKABLE : 0;
+      mask |= MaterialUtil.CONTAINERS.isTagged(material) ? CONTAINER : 0;
+      result[material.ordinal()] = mask;
+    }
+    return result;
+  }
+
+  private static final class Entry {
+    private static final int PASSABLE_LOADED = 1;
+    private static final int PASSABLE = 2;
+
+    private World world;
+    private long key;
+    private int generation = -1;
+    private Material type;
+    private BlockData data;
+    private AABB bounds;
+    private int state;
+  }
+}
@@ -36,6 +36,8 @@ public final class EarthMaterials {
   public static final MaterialSetTag LAVA_BENDABLE;
   public static final MaterialSetTag ALL;
 
+  private static final int ALL_FLAGS = BlockStateCache.EARTH | BlockStateCache.SAND | BlockStateCache.METAL | BlockStateCache.LAVA;
+
   static {
     NamespacedKey key = Bending.dataLayer().NSK_MATERIAL;
     EARTH_BENDABLE = new MaterialSetTag(key)
@@ -87,7 +89,7 @@ public final class EarthMaterials {
     if (isLavaBendable(block) && !user.hasPermission("bending.lava")) {
       return false;
     }
-    return ALL.isTagged(block);
+    return BlockStateCache.INSTANCE.is(block, ALL_FLAGS);
   }
 
   public static boolean isEarthNotLava(@NonNull User user, @NonNull Block block) {
@@ -97,22 +99,22 @@ public final class EarthMaterials {
     if (isMetalBendable(block) && !user.hasPermission("bending.metal")) {
       return false;
     }
-    return ALL.isTagged(block);
+    return BlockStateCache.INSTANCE.is(block, ALL_FLAGS);
   }
 
   public static boolean isEarthOrSand(@NonNull Block block) {
-    return EARTH_BENDABLE.isTagged(block) || SAND_BENDABLE.isTagged(block);
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.EARTH | BlockStateCache.SAND);
   }
 
   public static boolean isSandBendable(@NonNull Block block) {
-    return SAND_BENDABLE.isTagged(block);
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.SAND);
   }
 
   public static boolean isMetalBendable(@NonNull Block block) {
-    return METAL_BENDABLE.isTagged(block);
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.METAL);
   }
 
   public static boolean isLavaBendable(@NonNull Block block) {
-    return LAVA_BENDABLE.isTagged(block);
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.LAVA);
   }
 }
@@ -134,50 +134,56 @@ public final class MaterialUtil {
   }
 
   public static boolean isAir(@NonNull Block block) {
-    return block.getType().isAir();
+    return BlockStateCache.INSTANCE.type(block).isAir();
+  }
+
+  public static boolean isPassable(@NonNull Block block) {
+    return BlockStateCache.INSTANCE.isPassable(block);
   }
 
   public static boolean isTransparent(@NonNull Block block) {
-    return TRANSPARENT.isTagged(block);
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.TRANSPARENT);
   }
 
   public static boolean isTransparentOrWater(@NonNull Block block) {
-    return block.getType() == Material.WATER || TRANSPARENT.isTagged(block);
+    return BlockStateCache.INSTANCE.type(block) == Material.WATER || isTransparent(block);
   }
 
   public static boolean isContainer(@NonNull Block block) {
-    return CONTAINERS.isTagged(block.getType()) || (block.getState() instanceof InventoryHolder);
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.CONTAINER) || (block.getState() instanceof InventoryHolder);
   }
 
   public static boolean isUnbreakable(@NonNull Block block) {
-    return UNBREAKABLES.isTagged(block.getType()) || isContainer(block) || (block.getState() instanceof CreatureSpawner);
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.UNBREAKABLE) || isContainer(block) || (block.getState() instanceof CreatureSpawner);
   }
 
   public static boolean isIgnitable(@NonNull Block block) {
-    if ((block.getType().isFlammable() || block.getType().isBurnable()) && isTransparent(block)) {
+    Material type = BlockStateCache.INSTANCE.type(block);
+    if ((type.isFlammable() || type.isBurnable()) && isTransparent(block)) {
       return true;
     }
-    return isAir(block) && block.getRelative(BlockFace.DOWN).getType().isSolid();
+    return type.isAir() && BlockStateCache.INSTANCE.type(block.getRelative(BlockFace.DOWN)).isSolid();
   }
 
   public static boolean isFire(@NonNull Block block) {
-    return MaterialSetTag.FIRE.isTagged(block.getType());
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.FIRE);
   }
 
   public static boolean isCampfire(@NonNull Block block) {
-    return block.getType() == Material.CAMPFIRE || block.getType() == Material.SOUL_CAMPFIRE;
+    Material type = BlockStateCache.INSTANCE.type(block);
+    return type == Material.CAMPFIRE || type == Material.SOUL_CAMPFIRE;
   }
 
   public static boolean isLava(@NonNull Block block) {
-    return block.getType() == Material.LAVA;
+    return BlockStateCache.INSTANCE.type(block) == Material.LAVA;
   }
 
   public static boolean isWaterPlant(@NonNull Block block) {
-    return WATER_PLANTS.isTagged(block.getType());
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.WATER_PLANT);
   }
 
   public static boolean isWater(@NonNull Block block) {
-    return block.getType() == Material.WATER || isWaterLogged(block.getBlockData()) || isWaterPlant(block);
+    return BlockStateCache.INSTANCE.type(block) == Material.WATER || isWaterLogged(BlockStateCache.INSTANCE.data(block)) || isWaterPlant(block);
   }
 
   public static boolean isWaterLogged(@NonNull BlockData data) {
@@ -231,7 +237,7 @@ public final class MaterialUtil {
   }
 
   public static boolean isSourceBlock(@NonNull Block block) {
-    BlockData blockData = block.getBlockData();
+    BlockData blockData = BlockStateCache.INSTANCE.data(block);
     return blockData instanceof Levelled levelled && levelled.getLevel() == 0;
   }
 
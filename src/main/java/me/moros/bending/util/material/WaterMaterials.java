@@ -71,30 +71,30 @@ public final class WaterMaterials {
   }
 
   public static boolean isWaterBendable(@NonNull Block block) {
-    return MaterialUtil.isWater(block) || ALL.isTagged(block);
+    return MaterialUtil.isWater(block) || BlockStateCache.INSTANCE.is(block, BlockStateCache.WATER);
   }
 
   public static boolean isWaterNotPlant(@NonNull Block block) {
-    return isWaterBendable(block) && !PLANT_BENDABLE.isTagged(block);
+    return isWaterBendable(block) && !isPlantBendable(block);
   }
 
   public static boolean isIceBendable(@NonNull Block block) {
-    return ICE_BENDABLE.isTagged(block);
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.ICE);
   }
 
   public static boolean isSnowBendable(@NonNull Block block) {
-    return SNOW_BENDABLE.isTagged(block);
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.SNOW);
   }
 
   public static boolean isWaterOrIceBendable(@NonNull Block block) {
-    return MaterialUtil.isWater(block) || ICE_BENDABLE.isTagged(block);
+    return MaterialUtil.isWater(block) || isIceBendable(block);
   }
 
   public static boolean isPlantBendable(@NonNull Block block) {
-    return PLANT_BENDABLE.isTagged(block);
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.PLANT);
   }
 
   public static boolean isFullWaterSource(@NonNull Block block) {
-    return FULL_SOURCES.isTagged(block) || MaterialUtil.isWaterPlant(block);
+    return BlockStateCache.INSTANCE.is(block, BlockStateCache.FULL_SOURCE | BlockStateCache.WATER_PLANT);
   }
 }
@@ -32,6 +32,7 @@ import me.moros.bending.model.math.Vector3d;
 import me.moros.bending.model.user.User;
 import me.moros.bending.util.ParticleUtil;
 import me.moros.bending.util.SoundUtil;
+import me.moros.bending.util.material.BlockStateCache;
 import me.moros.bending.util.material.MaterialUtil;
 import me.moros.bending.util.material.WaterMaterials;
 import org.bukkit.Location;
@@ -74,6 +75,7 @@ public final class BlockMethods {
       if (!data.isLit()) {
         data.setLit(true);
         block.setBlockData(data);
+        BlockStateCache.INSTANCE.invalidate();
       }
     }
   }
@@ -101,6 +103,7 @@ public final class BlockMethods {
     }
     if (MaterialUtil.isLava(block)) {
       block.setType(MaterialUtil.isSourceBlock(block) ? Material.OBSIDIAN : Material.COBBLESTONE);
+      BlockStateCache.INSTANCE.invalidate();
       if (ThreadLocalRandom.current().nextBoolean()) {
         playLavaExtinguishEffect(block);
       }
@@ -121,6 +124,7 @@ public final class BlockMethods {
     }
     if (MaterialUtil.isFire(block)) {
       block.setType(Material.AIR);
+      BlockStateCache.INSTANCE.invalidate();
       if (ThreadLocalRandom.current().nextInt(4) == 0) {
         SoundUtil.FIRE_EXTINGUISH.play(block.getLocation());
       }
@@ -130,6 +134,7 @@ public final class BlockMethods {
       if (data.isLit()) {
         data.setLit(false);
         block.setBlockData(data);
+        BlockStateCache.INSTANCE.invalidate();
       }
     }
     return false;
@@ -159,6 +164,7 @@ public final class BlockMethods {
         snow.setLayers(snow.getLayers() - 1);
         block.setBlockData(snow);
       }
+      BlockStateCache.INSTANCE.invalidate();
       return true;
     } else if (WaterMaterials.isIceBendable(block)) {
       TempBlock.MANAGER.get(block).ifPresentOrElse(TempBlock::revert, () -> TempBlock.createAir(block));
@@ -211,6 +217,7 @@ public final class BlockMethods {
         return false;
       }
       block.breakNaturally(new ItemStack(Material.AIR));
+      BlockStateCache.INSTANCE.invalidate();
       return true;
     }
     return false;
@@ -182,6 +182,16 @@ public final class VectorMethods {
     return possibleCollisions;
   }
 
+  /**
+   * Allocation free version of {@link #decomposeDiagonals(Vector3d, Vector3d)} for a single axis.
+   * @param origin the origin coordinate
+   * @param delta the movement along the axis
+   * @return the block offset (-1, 0 or 1) along the axis
+   */
+  public static int diagonalOffset(double origin, double delta) {
+    return Math.min(1, Math.max(-1, FastMath.floor(origin + delta) - FastMath.floor(origin)));
+  }
+
   public static @NonNull Vector3d gaussianOffset(Vector3d target, double offset) {
     return gaussianOffset(target, offset, offset, offset);
   }